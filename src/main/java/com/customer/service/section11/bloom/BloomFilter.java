@@ -0,0 +1,124 @@
+package com.customer.service.section11.bloom;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over strings: answers "definitely absent" or "possibly present" from a fixed-size bit array.
+ * <p>
+ * Layout and concurrency:
+ * <ul>
+ *   <li>Sized for {@code expectedInsertions} keys at {@code falsePositiveProbability}: {@code m = -n ln p / (ln 2)^2}
+ *       bits and {@code k = m / n ln 2} hash functions. More keys than expected only raise the false-positive
+ *       probability; nothing is ever lost.</li>
+ *   <li>The {@code k} bit positions are derived from two 64-bit hashes of the key ({@code h1 + i * h2}), so a
+ *       lookup hashes the key twice whatever {@code k} is.</li>
+ *   <li>Bits live in an {@link AtomicLongArray} and are only ever set, so adds and lookups run concurrently without
+ *       locks, and a key is visible to every lookup that starts after its add returns.</li>
+ * </ul>
+ * Keys cannot be removed; a filter that carries many keys no longer in use is replaced by building a new one.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        long n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Math.max((m + 63) / 64, 1), Integer.MAX_VALUE - 8);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @param key the key; {@code null} is ignored
+     */
+    public void add(String key) {
+        if (key == null) {
+            return;
+        }
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0) {
+                long witness = bits.compareAndExchange(word, current, current | mask);
+                if (witness == current) {
+                    bitsSet.incrementAndGet();
+                    break;
+                }
+                current = witness;
+            }
+        }
+    }
+
+    /**
+     * Tells whether the key may have been added.
+     *
+     * @param key the key
+     * @return {@code false} if the key was definitely never added, {@code true} if it possibly was;
+     *         {@code false} for {@code null}
+     */
+    public boolean mightContain(String key) {
+        if (key == null) {
+            return false;
+        }
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the probability that {@link #mightContain} answers {@code true} for a key that was never added,
+     * from the fraction of bits currently set.
+     *
+     * @return the estimated false-positive probability, between 0 and 1
+     */
+    public double expectedFalsePositiveProbability() {
+        return Math.pow((double) bitsSet.get() / bitCount, hashCount);
+    }
+
+    /**
+     * @return the size of the bit array, in bits
+     */
+    public long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * @return the number of bit positions checked per key
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /** FNV-1a over the UTF-16 code units, seeded and finished with the MurmurHash3 64-bit mixer. */
+    private static long hash(String key, long seed) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,282 @@
+package com.customer.service.section11.bloom;
+
+import com.customer.service.section11.enums.CustomerKeyField;
+import com.customer.service.section11.event.CustomerChangedEvent;
+import com.customer.service.section11.projection.CustomerKeys;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.response.CustomerResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters over the username, email address and mobile number of every customer, consulted before
+ * the uniqueness queries: a key the filter has never seen cannot be taken, so the query is skipped.
+ * <ul>
+ *   <li>Built while the application starts by streaming only the key columns through a database cursor, sized for
+ *       {@code customer.key-filter.expected-insertions} keys or twice the current customer count, whichever is larger,
+ *       at {@code customer.key-filter.false-positive-probability}.</li>
+ *   <li>Keys of every {@link CustomerChangedEvent} are added when it is published, before its transaction commits,
+ *       and again after the commit, so a write racing with a rebuild is never missing from the new filters. A key
+ *       added by a write that later rolls back only costs a false positive.</li>
+ *   <li>Writes made by other instances are not seen until the next rebuild, every
+ *       {@code customer.key-filter.rebuild-interval} or on demand; until then the unique constraints reject them.</li>
+ *   <li>Keys are lower-cased before hashing, so keys that differ only in case, which the case-insensitive collation
+ *       of the unique columns treats as equal, are reported as possibly present.</li>
+ *   <li>With {@code customer.key-filter.enabled=false} every key is reported as possibly present.</li>
+ * </ul>
+ * Metrics, tagged with the field: {@code customer.key.filter.checks} (counter, {@code result} = {@code absent} or
+ * {@code maybe}), {@code customer.key.filter.false.positives} (counter of {@code maybe} answers the database did not
+ * confirm), {@code customer.key.filter.false.positive.rate} (observed) and
+ * {@code customer.key.filter.expected.false.positive.rate} (estimated from the filter's fill).
+ */
+@Slf4j
+@Component
+public class CustomerKeyFilter implements InitializingBean, DisposableBean {
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Duration rebuildInterval;
+    private final ScheduledExecutorService rebuilder =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("customer-key-filter-"));
+    private final Map<CustomerKeyField, Counter> absent = new EnumMap<>(CustomerKeyField.class);
+    private final Map<CustomerKeyField, Counter> maybe = new EnumMap<>(CustomerKeyField.class);
+    private final Map<CustomerKeyField, Counter> falsePositives = new EnumMap<>(CustomerKeyField.class);
+    /** Serializes rebuilds; held while reading the table, so a {@code ReentrantLock} rather than a monitor. */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Filters filters;
+    /** The filters being built by a rebuild, which receive every key added meanwhile; {@code null} otherwise. */
+    private volatile Filters building;
+
+    public CustomerKeyFilter(CustomerRepository customerRepository, PlatformTransactionManager transactionManager,
+                             ObjectProvider<MeterRegistry> meterRegistry,
+                             @Value("${customer.key-filter.enabled}") boolean enabled,
+                             @Value("${customer.key-filter.expected-insertions}") long expectedInsertions,
+                             @Value("${customer.key-filter.false-positive-probability}") double falsePositiveProbability,
+                             @Value("${customer.key-filter.rebuild-interval}") Duration rebuildInterval) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.rebuildInterval = rebuildInterval;
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        for (CustomerKeyField field : CustomerKeyField.values()) {
+            String tag = field.name().toLowerCase();
+            absent.put(field, Counter.builder("customer.key.filter.checks")
+                    .description("Uniqueness checks answered by the key filter")
+                    .tags("field", tag, "result", "absent")
+                    .register(registry));
+            maybe.put(field, Counter.builder("customer.key.filter.checks")
+                    .description("Uniqueness checks answered by the key filter")
+                    .tags("field", tag, "result", "maybe")
+                    .register(registry));
+            falsePositives.put(field, Counter.builder("customer.key.filter.false.positives")
+                    .description("Keys the filter reported as possibly present that the database did not have")
+                    .tag("field", tag)
+                    .register(registry));
+            Gauge.builder("customer.key.filter.false.positive.rate", this, filter -> filter.observedFalsePositiveRate(field))
+                    .description("False positives among the checks of keys that were not taken")
+                    .tag("field", tag)
+                    .register(registry);
+            Gauge.builder("customer.key.filter.expected.false.positive.rate", this,
+                            filter -> filter.filters == null ? 0 : filter.filters.get(field).expectedFalsePositiveProbability())
+                    .description("False-positive probability estimated from the fraction of bits set")
+                    .tag("field", tag)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Builds the filters from the customer table and schedules the periodic rebuild.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        rebuildNow();
+        if (!rebuildInterval.isZero()) {
+            long intervalMillis = rebuildInterval.toMillis();
+            rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Tells whether a key may already be taken.
+     *
+     * @param field the key's field
+     * @param key   the key; {@code null} is never taken
+     * @return {@code false} if no customer has the key, {@code true} if one possibly has
+     */
+    public boolean mightContain(CustomerKeyField field, String key) {
+        if (key == null) {
+            return false;
+        }
+        if (!enabled) {
+            return true;
+        }
+        boolean result = filters.get(field).mightContain(normalize(key));
+        (result ? maybe : absent).get(field).increment();
+        return result;
+    }
+
+    /**
+     * Records that the database did not have a key this filter reported as possibly present.
+     *
+     * @param field the key's field
+     */
+    public void recordFalsePositive(CustomerKeyField field) {
+        falsePositives.get(field).increment();
+    }
+
+    /**
+     * Replaces the filters with new ones built from the customer table, on the filter's own thread;
+     * uniqueness checks keep using the current filters while it runs.
+     *
+     * @return completes with the number of customers loaded
+     */
+    public CompletableFuture<Long> rebuild() {
+        return CompletableFuture.supplyAsync(this::rebuildNow, rebuilder);
+    }
+
+    /**
+     * Adds the keys of a customer as soon as the change is published.
+     *
+     * @param event the change published by the customer service
+     */
+    @EventListener
+    public void onCustomerChanging(CustomerChangedEvent event) {
+        add(event.current());
+    }
+
+    /**
+     * Adds the keys of a customer again once the change is committed, for a rebuild that started in between.
+     *
+     * @param event the change published by the customer service
+     */
+    @TransactionalEventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        add(event.current());
+    }
+
+    private void add(CustomerResponse customer) {
+        if (!enabled || customer == null) {
+            return;
+        }
+        // Read building first: a rebuild that finishes in between has already published it as filters.
+        Filters next = building;
+        Filters current = filters;
+        current.add(customer.getUserName(), customer.getCustomerEmailAddress(), customer.getCustomerMobileNumber());
+        if (next != null) {
+            next.add(customer.getUserName(), customer.getCustomerEmailAddress(), customer.getCustomerMobileNumber());
+        }
+    }
+
+    private long rebuildNow() {
+        rebuildLock.lock();
+        try {
+            long customers = customerRepository.count();
+            Filters next = new Filters(Math.max(expectedInsertions, 2 * customers), falsePositiveProbability);
+            building = next;
+            try {
+                long loaded = transactionTemplate.execute(status -> {
+                    long count = 0;
+                    try (Stream<CustomerKeys> keys = customerRepository.streamKeys()) {
+                        for (CustomerKeys key : (Iterable<CustomerKeys>) keys::iterator) {
+                            next.add(key.userName(), key.customerEmailAddress(), key.customerMobileNumber());
+                            count++;
+                        }
+                    }
+                    return count;
+                });
+                filters = next;
+                log.info("Key filters built for {} customers ({} bits, {} hashes per key)",
+                        loaded, next.userNames.bitCount(), next.userNames.hashCount());
+                return loaded;
+            } finally {
+                building = null;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuildNow();
+        } catch (RuntimeException e) {
+            log.error("Key filter rebuild failed, the current filters stay in use", e);
+        }
+    }
+
+    private double observedFalsePositiveRate(CustomerKeyField field) {
+        double falsePositive = falsePositives.get(field).count();
+        double notTaken = falsePositive + absent.get(field).count();
+        return notTaken == 0 ? 0 : falsePositive / notTaken;
+    }
+
+    /**
+     * Stops the periodic rebuild.
+     */
+    @Override
+    public void destroy() {
+        rebuilder.shutdownNow();
+    }
+
+    private static String normalize(String key) {
+        return key == null ? null : key.toLowerCase(Locale.ROOT);
+    }
+
+    /** One filter per unique key, replaced together. */
+    private record Filters(BloomFilter userNames, BloomFilter emailAddresses, BloomFilter mobileNumbers) {
+
+        Filters(long expectedInsertions, double falsePositiveProbability) {
+            this(new BloomFilter(expectedInsertions, falsePositiveProbability),
+                    new BloomFilter(expectedInsertions, falsePositiveProbability),
+                    new BloomFilter(expectedInsertions, falsePositiveProbability));
+        }
+
+        BloomFilter get(CustomerKeyField field) {
+            return switch (field) {
+                case USER_NAME -> userNames;
+                case EMAIL_ADDRESS -> emailAddresses;
+                case MOBILE_NUMBER -> mobileNumbers;
+            };
+        }
+
+        void add(String userName, String emailAddress, String mobileNumber) {
+            userNames.add(normalize(userName));
+            emailAddresses.add(normalize(emailAddress));
+            mobileNumbers.add(normalize(mobileNumber));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.customer.service.section11.cache;
+
+import com.customer.service.section11.datasource.ReplicaRoutingDataSource;
+import com.customer.service.section11.response.CustomerResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import static com.customer.service.section11.constant.CustomerConstant.CACHE_INVALIDATION_STRIPES;
+import static com.customer.service.section11.constant.CustomerConstant.CUSTOMERS_BY_EMAIL_CACHE;
+import static com.customer.service.section11.constant.CustomerConstant.CUSTOMERS_BY_MOBILE_CACHE;
+import static com.customer.service.section11.constant.CustomerConstant.CUSTOMERS_BY_USER_NAME_CACHE;
+
+/**
+ * Read-through cache of {@link CustomerResponse} keyed by each natural key
+ * (mobile number, username and email address). Keys are lower-cased, as the database compares them
+ * case-insensitively: a lookup and an eviction spelled differently still refer to the same entry.
+ * <p>
+ * Only found customers are cached; a lookup that fails is never stored, so a new customer
+ * does not need any cache invalidation. Puts and evictions made inside a transaction are
+ * applied after it commits, so a rolled-back write never invalidates or pollutes the cache.
+ * <p>
+ * A load can read a customer just before a write commits and evicts it, and then put the old value after the
+ * eviction. To keep such a value from being served until it expires, every eviction first bumps an invalidation
+ * stamp (one of {@code CACHE_INVALIDATION_STRIPES}, chosen by key), and a load reads the stamp of its key before
+ * loading and evicts its own put if the stamp moved in the meantime. The loader never runs under a cache lock.
+ * <p>
+ * A value loaded from a read replica is returned but never cached: the replica may not have caught up with a write
+ * whose eviction already ran, and a client pinned to the primary to read its own writes would then get the older
+ * row from the cache. Only values read from the primary are shared.
+ */
+@Component
+public class CustomerResponseCache {
+
+    private final Cache byMobile;
+    private final Cache byUserName;
+    private final Cache byEmail;
+    private final AtomicLongArray invalidations = new AtomicLongArray(CACHE_INVALIDATION_STRIPES);
+
+    public CustomerResponseCache(CacheManager cacheManager) {
+        this.byMobile = cache(cacheManager, CUSTOMERS_BY_MOBILE_CACHE);
+        this.byUserName = cache(cacheManager, CUSTOMERS_BY_USER_NAME_CACHE);
+        this.byEmail = cache(cacheManager, CUSTOMERS_BY_EMAIL_CACHE);
+    }
+
+    /**
+     * Returns the cached customer for the mobile number, loading and caching it on a miss.
+     *
+     * @param mobileNumber the customer's mobile number
+     * @param loader       loads the customer from the database; may throw if it does not exist
+     * @return the customer
+     */
+    public CustomerResponse getByMobile(String mobileNumber, Supplier<CustomerResponse> loader) {
+        return get(byMobile, mobileNumber, loader);
+    }
+
+    /**
+     * Returns the cached customer for the username, loading and caching it on a miss.
+     *
+     * @param userName the customer's username
+     * @param loader   loads the customer from the database; may throw if it does not exist
+     * @return the customer
+     */
+    public CustomerResponse getByUserName(String userName, Supplier<CustomerResponse> loader) {
+        return get(byUserName, userName, loader);
+    }
+
+    /**
+     * Returns the cached customer for the email address, loading and caching it on a miss.
+     *
+     * @param emailAddress the customer's email address
+     * @param loader       loads the customer from the database; may throw if it does not exist
+     * @return the customer
+     */
+    public CustomerResponse getByEmail(String emailAddress, Supplier<CustomerResponse> loader) {
+        return get(byEmail, emailAddress, loader);
+    }
+
+    /**
+     * Evicts every entry that may hold the given customer.
+     * Callers pass the customer as it was <b>before</b> the write, so renamed keys are evicted too.
+     *
+     * @param previous the customer before the write
+     */
+    public void evict(CustomerResponse previous) {
+        evict(previous.getUserName(), previous.getCustomerMobileNumber(), previous.getCustomerEmailAddress());
+    }
+
+    /**
+     * Evicts every entry that may hold the customer identified by the given keys.
+     *
+     * @param userName     the username before the write
+     * @param mobileNumber the mobile number before the write
+     * @param emailAddress the email address before the write
+     */
+    public void evict(String userName, String mobileNumber, String emailAddress) {
+        afterCommit(() -> {
+            evictIfPresent(byUserName, userName);
+            evictIfPresent(byMobile, mobileNumber);
+            evictIfPresent(byEmail, emailAddress);
+        });
+    }
+
+    private CustomerResponse get(Cache cache, String naturalKey, Supplier<CustomerResponse> loader) {
+        String key = normalize(naturalKey);
+        CustomerResponse cached = cache.get(key, CustomerResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(key);
+        long stamp = invalidations.get(stripe);
+        CustomerResponse loaded = loader.get();
+        if (ReplicaRoutingDataSource.isReplicaRoute()) {
+            return loaded;
+        }
+        afterCommit(() -> {
+            cache.put(key, loaded);
+            if (invalidations.get(stripe) != stamp) {
+                cache.evict(key);
+            }
+        });
+        return loaded;
+    }
+
+    private void evictIfPresent(Cache cache, String key) {
+        if (key != null) {
+            String normalized = normalize(key);
+            invalidations.incrementAndGet(stripe(normalized));
+            cache.evict(normalized);
+        }
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    private static int stripe(String key) {
+        return Math.floorMod(key.hashCode(), CACHE_INVALIDATION_STRIPES);
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or right away outside of one.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Cache cache(CacheManager cacheManager, String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), "Cache not configured: " + name);
+    }
+}
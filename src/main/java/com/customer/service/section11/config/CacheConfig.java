@@ -0,0 +1,15 @@
+package com.customer.service.section11.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction.
+ * <p>
+ * The cache manager itself is auto-configured from the {@code spring.cache.*} properties
+ * (Caffeine, size-bounded, with statistics recorded so hit/miss/eviction metrics are published by Actuator).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,91 @@
+package com.customer.service.section11.config;
+
+import com.customer.service.section11.datasource.ReadYourWritesFilter;
+import com.customer.service.section11.datasource.ReplicaDataSourceProperties;
+import com.customer.service.section11.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-replica routing, enabled by configuring at least one {@code customer.datasource.replicas[n].url}.
+ * <p>
+ * Replaces the auto-configured {@code DataSource} with a {@link LazyConnectionDataSourceProxy} around a
+ * {@link ReplicaRoutingDataSource}: read-only transactions go to the replicas, everything else to the primary
+ * ({@code spring.datasource.*}). Each route is its own Hikari pool named {@code primary}, {@code replica-1}, ...,
+ * so the {@code hikaricp.*} metrics are reported per route under the {@code pool} tag.
+ * <p>
+ * Lookups read through to a replica too, but what they read there is never cached: a replica may lag behind a
+ * write whose cache eviction already ran, and a client pinned to the primary must not get that older row from the
+ * cache. The cache is filled only by lookups served by the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "customer.datasource", name = "replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaDataSourceProperties replicaProperties,
+                                 Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY,
+                dataSourceProperties.initializeDataSourceBuilder(), environment, meterRegistry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.replicas().size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = replicaProperties.replicas().get(i);
+            HikariDataSource pool = pool("replica-" + (i + 1), DataSourceBuilder.create()
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password()), environment, meterRegistry);
+            pool.setReadOnly(true);
+            replicas.put(pool.getPoolName(), pool);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaDataSourceProperties replicaProperties) {
+        return new ReadYourWritesFilter(replicaProperties.readYourWritesWindow());
+    }
+
+    private HikariDataSource pool(String name, DataSourceBuilder<?> builder, Environment environment,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource pool = builder.type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        pools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Closes the pools, which the container does not manage since they are not beans.
+     */
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,46 @@
+package com.customer.service.section11.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+
+/**
+ * R2DBC setup for the reactive read API.
+ * <p>
+ * Spring Boot stops auto-configuring the JDBC {@code DataSource} as soon as an R2DBC {@link ConnectionFactory}
+ * bean exists, which would take JPA and Flyway down with it. The connection factory is therefore built here from
+ * the {@code spring.r2dbc.*} properties and kept private, and only the {@link DatabaseClient} is exposed. That is
+ * enough for Spring Boot to create the {@code R2dbcEntityTemplate} and the R2DBC repositories, while
+ * {@code R2dbcAutoConfiguration} is excluded in {@code application.properties}.
+ */
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class R2dbcConfig implements DisposableBean {
+
+    private ConnectionFactory connectionFactory;
+
+    @Bean
+    public DatabaseClient databaseClient(R2dbcProperties properties) {
+        connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Closes the R2DBC connection pool, which the container does not manage since it is not a bean.
+     */
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Disposable pool) {
+            pool.dispose();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.customer.service.section11.config;
+
+import com.customer.service.section11.retry.ConflictRetryInterceptor;
+import com.customer.service.section11.retry.RetryOnConflict;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Retries {@link RetryOnConflict} methods on optimistic-locking conflicts.
+ * <p>
+ * The advisor runs right inside the {@code MetricsConfig} timer and outside {@code @Transactional}, so each attempt
+ * is a transaction of its own and {@code customer.service} measures the call including its retries.
+ */
+@Configuration
+public class RetryConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor conflictRetryAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, RetryOnConflict.class, true),
+                new ConflictRetryInterceptor(meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.customer.service.section11.config;
+
+import com.customer.service.section11.sql.SqlBudgetInterceptor;
+import com.customer.service.section11.sql.SqlBudgetProperties;
+import com.customer.service.section11.sql.SqlCountingDataSourcePostProcessor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the per-request SQL statement budget on every controller endpoint.
+ * <p>
+ * The statements themselves are counted at the JDBC level by wrapping the {@code DataSource} bean in a
+ * {@code SqlCountingDataSource}, so statements sent through {@code JdbcTemplate} count like Hibernate's.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final SqlBudgetProperties sqlBudgetProperties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlBudgetInterceptor(sqlBudgetProperties));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static SqlCountingDataSourcePostProcessor sqlCountingDataSourcePostProcessor() {
+        return new SqlCountingDataSourcePostProcessor();
+    }
+}
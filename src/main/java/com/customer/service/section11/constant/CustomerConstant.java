@@ -12,4 +12,41 @@ public class CustomerConstant {
     public static final String CUSTOMER_DELETED_SUCCESS = "Customer deleted Successfully";
 
     public static final String CUSTOMER_STATUS_UPDATED_SUCCESS = "Customer status updated Successfully";
+    public static final String CUSTOMER_BATCH_PROCESSED = "Customer batch processed Successfully";
+    public static final String CUSTOMER_STATUS_QUEUED = "Customer status change queued Successfully";
+    public static final String BULK_MOBILE_NUMBERS_REQUIRED = "Mobile numbers are required and must not contain null";
+    public static final String BULK_STATUS_REQUIRED = "Status is required";
+
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+    public static final int MAX_PAGE_LIMIT = 1000;
+
+    public static final String EXPORT_FETCH_SIZE = "500";
+    public static final int EXPORT_FLUSH_INTERVAL = 1000;
+
+    public static final int BATCH_CHUNK_SIZE = 500;
+
+    public static final String CUSTOMERS_BY_MOBILE_CACHE = "customersByMobile";
+    public static final String CUSTOMERS_BY_USER_NAME_CACHE = "customersByUserName";
+    public static final String CUSTOMERS_BY_EMAIL_CACHE = "customersByEmail";
+    public static final int CACHE_INVALIDATION_STRIPES = 64;
+
+    public static final int DEFAULT_SUGGESTION_LIMIT = 10;
+    public static final int MAX_SUGGESTION_LIMIT = 100;
+    public static final int PREFIX_INDEX_COMPACTION_THRESHOLD = 4096;
+
+    public static final String SEARCH_INDEX_REBUILT = "Customer search index rebuilt Successfully";
+    public static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    public static final int MAX_SEARCH_RESULTS = 1000;
+    public static final int MAX_SEARCH_TERMS = 8;
+    public static final double SEARCH_INDEX_MAX_STALE_SECONDS = 1.0;
+    public static final double SEARCH_INDEX_MIN_STALE_SECONDS = 0.025;
+
+    public static final int WRITE_CONFLICT_MAX_ATTEMPTS = 5;
+    public static final long WRITE_CONFLICT_BASE_BACKOFF_MILLIS = 5;
+    public static final long WRITE_CONFLICT_MAX_BACKOFF_MILLIS = 100;
+    public static final String WRITE_CONFLICT = "Customer was changed concurrently, please retry";
+
+    public static final long OUTBOX_PURGE_INTERVAL_MINUTES = 60;
+
+    public static final String KEY_FILTER_REBUILT = "Customer key filter rebuilt Successfully";
 }
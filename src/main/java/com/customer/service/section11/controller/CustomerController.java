@@ -1,17 +1,37 @@
 package com.customer.service.section11.controller;
 
 import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.enums.NameField;
+import com.customer.service.section11.request.CustomerFilterRequest;
 import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.request.CustomerStatusBulkRequest;
 import com.customer.service.section11.response.ApiResponse;
+import com.customer.service.section11.response.CustomerBatchResult;
+import com.customer.service.section11.response.CustomerChangesResponse;
+import com.customer.service.section11.response.CustomerFilterResponse;
 import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.response.CustomerSearchResponse;
+import com.customer.service.section11.response.CustomerSliceResponse;
+import com.customer.service.section11.response.CustomerStatusBulkResponse;
+import com.customer.service.section11.response.NameSuggestion;
 import com.customer.service.section11.service.CustomerService;
+import com.customer.service.section11.writebehind.StatusWriteBehindQueue;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static com.customer.service.section11.constant.CustomerConstant.*;
 
@@ -27,6 +47,8 @@ public class CustomerController {
 
     private final CustomerService customerService;
 
+    private final StatusWriteBehindQueue statusWriteBehindQueue;
+
     /**
      * Create a new customer record.
      * HTTP Method: POST
@@ -43,6 +65,23 @@ public class CustomerController {
                 .body(new ApiResponse(HttpStatus.CREATED.value(), CUSTOMER_CREATED_SUCCESS, response));
     }
 
+    /**
+     * Create many customer records in one request.
+     * Duplicate rows are skipped and reported individually; the other rows are inserted in JDBC batches.
+     * HTTP Method: POST
+     * Endpoint: /api/customer/v1/create/batch
+     *
+     * @param requests Request body containing the list of new customers.
+     * @return ResponseEntity containing ApiResponse with one created/duplicate result per row.
+     */
+    @PostMapping("/create/batch")
+    @Operation(summary = "Create customers in bulk")
+    public ResponseEntity<ApiResponse> createCustomers(@RequestBody List<CustomerRequest> requests) {
+        List<CustomerBatchResult> response = customerService.createCustomers(requests);
+        return ResponseEntity
+                .ok(new ApiResponse(HttpStatus.OK.value(), CUSTOMER_BATCH_PROCESSED, response));
+    }
+
     /**
      * Retrieve all customers.
      * HTTP Method: GET
@@ -60,49 +99,196 @@ public class CustomerController {
                 .ok(new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
     }
 
+    /**
+     * Retrieve customers one slice at a time using keyset pagination.
+     * Pass the returned {@code nextCursor} as {@code afterId} to fetch the following slice.
+     * HTTP Method: GET
+     * Endpoint: /api/customer/v1/getAllData/page?afterId={afterId}&limit={limit}
+     *
+     * @param afterId Last customerId already received; omit to start from the beginning.
+     * @param limit   Maximum number of customers in the slice.
+     * @return ResponseEntity containing ApiResponse with the slice and the next cursor.
+     */
+    @GetMapping("/getAllData/page")
+    @Operation(summary = "Get customers page by page (keyset pagination)")
+    public ResponseEntity<ApiResponse> getCustomersPage(@RequestParam(required = false) Long afterId,
+                                                        @RequestParam(defaultValue = "" + DEFAULT_PAGE_LIMIT) int limit) {
+        CustomerSliceResponse response = customerService.getCustomersAfter(afterId, limit);
+        return ResponseEntity
+                .ok(new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+    }
+
+    /**
+     * Retrieve customers matching any combination of name, status, age range and created/updated date range,
+     * one page at a time. Unset filters are ignored; ranges are inclusive and may be open on either side.
+     * HTTP Method: GET
+     * Endpoint: /api/customer/v1/filter?lastName={lastName}&userStatus={ACTIVE|INACTIVE}&minAge={minAge}
+     * &createdFrom={2025-01-01T00:00:00}&page={page}&size={size}&sort={property},{asc|desc}
+     *
+     * @param filter   The filters, bound from the query parameters.
+     * @param pageable Page number, page size (at most {@code MAX_PAGE_LIMIT}) and an optional sort on one property.
+     * @return ResponseEntity containing ApiResponse with the page of customers and whether more follow.
+     */
+    @GetMapping("/filter")
+    @Operation(summary = "Filter customers by name, status, age and dates (paged, sortable)")
+    public ResponseEntity<ApiResponse> filterCustomers(
+            @ParameterObject CustomerFilterRequest filter,
+            @ParameterObject @PageableDefault(size = DEFAULT_PAGE_LIMIT) Pageable pageable) {
+        CustomerFilterResponse response = customerService.filterCustomers(filter, pageable);
+        return ResponseEntity
+                .ok(new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+    }
+
+    /**
+     * Retrieve committed customer changes (creations, updates, status and mobile changes) in the order they happened,
+     * so downstream systems can follow the table incrementally instead of re-reading it with getAllData.
+     * Pass the returned {@code nextCursor} as {@code afterSequence} on the next poll.
+     * HTTP Method: GET
+     * Endpoint: /api/customer/v1/changes?afterSequence={afterSequence}&limit={limit}
+     *
+     * @param afterSequence Last sequence already received; omit to start from the oldest kept change.
+     * @param limit         Maximum number of changes in the slice.
+     * @return ResponseEntity containing ApiResponse with the changes and the next cursor.
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Get customer changes after a cursor (change feed)")
+    public ResponseEntity<ApiResponse> getChanges(@RequestParam(required = false) Long afterSequence,
+                                                  @RequestParam(defaultValue = "" + DEFAULT_PAGE_LIMIT) int limit) {
+        CustomerChangesResponse response = customerService.getChangesAfter(afterSequence, limit);
+        return ResponseEntity
+                .ok(new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+    }
+
+    /**
+     * Type-ahead search: names starting with the given prefix, served from memory.
+     * HTTP Method: GET
+     * Endpoint: /api/customer/v1/search/prefix?prefix={prefix}&field={FIRST_NAME|LAST_NAME}&limit={limit}
+     *
+     * @param prefix The typed prefix, matched case-insensitively.
+     * @param field  The name field to search; first name by default.
+     * @param limit  Maximum number of suggestions.
+     * @return ResponseEntity containing ApiResponse with the suggestions and their customer counts.
+     */
+    @GetMapping("/search/prefix")
+    @Operation(summary = "Suggest first or last names by prefix")
+    public ResponseEntity<ApiResponse> searchByPrefix(@RequestParam String prefix,
+                                                      @RequestParam(defaultValue = "FIRST_NAME") NameField field,
+                                                      @RequestParam(defaultValue = "" + DEFAULT_SUGGESTION_LIMIT) int limit) {
+        List<NameSuggestion> response = customerService.suggestNames(field, prefix, limit);
+        return ResponseEntity
+                .ok(new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+    }
+
+    /**
+     * Ranked full-text search over names, username, email address, mobile number and address.
+     * HTTP Method: GET
+     * Endpoint: /api/customer/v1/search?query={query}&page={page}&size={size}
+     *
+     * @param query Free text; fragments and small typos are matched.
+     * @param page  Zero-based page number.
+     * @param size  Page size.
+     * @return ResponseEntity containing ApiResponse with one page of matching customers, best match first.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Full-text customer search")
+    public ResponseEntity<ApiResponse> searchCustomers(@RequestParam String query,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "" + DEFAULT_SEARCH_PAGE_SIZE) int size) {
+        CustomerSearchResponse response = customerService.searchCustomers(query, page, size);
+        return ResponseEntity
+                .ok(new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+    }
+
+    /**
+     * Rebuild the full-text search index from the database.
+     * The request is handled asynchronously, so no servlet thread waits for the rebuild.
+     * HTTP Method: POST
+     * Endpoint: /api/customer/v1/search/rebuild
+     *
+     * @return ResponseEntity containing ApiResponse with the number of customers indexed.
+     */
+    @PostMapping("/search/rebuild")
+    @Operation(summary = "Rebuild the full-text search index")
+    public CompletableFuture<ResponseEntity<ApiResponse>> rebuildSearchIndex() {
+        return customerService.rebuildSearchIndex()
+                .thenApply(indexed -> ResponseEntity
+                        .ok(new ApiResponse(HttpStatus.OK.value(), SEARCH_INDEX_REBUILT, indexed)));
+    }
+
+    /**
+     * Rebuild the in-memory key filters that let uniqueness checks skip the database, e.g. when
+     * {@code customer.key.filter.false.positive.rate} has grown or other instances have created many customers.
+     * The request is handled asynchronously, so no servlet thread waits for the rebuild.
+     * HTTP Method: POST
+     * Endpoint: /api/customer/v1/keyFilter/rebuild
+     *
+     * @return ResponseEntity containing ApiResponse with the number of customers loaded.
+     */
+    @PostMapping("/keyFilter/rebuild")
+    @Operation(summary = "Rebuild the uniqueness key filters")
+    public CompletableFuture<ResponseEntity<ApiResponse>> rebuildKeyFilter() {
+        return customerService.rebuildKeyFilter()
+                .thenApply(loaded -> ResponseEntity
+                        .ok(new ApiResponse(HttpStatus.OK.value(), KEY_FILTER_REBUILT, loaded)));
+    }
+
+    /**
+     * Export all customers as newline-delimited JSON (one {@link CustomerResponse} per line).
+     * Customers are written while they are read from the database, so memory use does not depend on table size.
+     * HTTP Method: GET
+     * Endpoint: /api/customer/v1/export
+     *
+     * @return ResponseEntity streaming the customers as {@code application/x-ndjson}.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all customers as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+        StreamingResponseBody body = customerService::exportAllCustomers;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Retrieve a customer by mobile number.
      * HTTP Method: GET
      * Endpoint: /api/customer/v1/getByMobile/{customerMobileNumber}
+     * Supports conditional requests, see {@link #conditional(CustomerResponse)}.
      *
      * @param customerMobileNumber Customer's mobile number.
      * @return ResponseEntity containing ApiResponse with matching customer details.
      */
     @GetMapping("/getByMobile/{customerMobileNumber}")
     public ResponseEntity<ApiResponse> getByMobile(@PathVariable String customerMobileNumber) {
-        CustomerResponse response = customerService.getByCustomerMobileNumber(customerMobileNumber);
-        return ResponseEntity.ok(
-                new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+        return conditional(customerService.getByCustomerMobileNumber(customerMobileNumber));
     }
 
     /**
      * Retrieve a customer by username.
      * HTTP Method: GET
      * Endpoint: /api/customer/v1/getByUserName/{userName}
+     * Supports conditional requests, see {@link #conditional(CustomerResponse)}.
      *
      * @param userName Customer's username.
      * @return ResponseEntity containing ApiResponse with matching customer details.
      */
     @GetMapping("/getByUserName/{userName}")
     public ResponseEntity<ApiResponse> getByUserName(@PathVariable String userName) {
-        CustomerResponse response = customerService.getByCustomerName(userName);
-        return ResponseEntity.ok(
-                new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+        return conditional(customerService.getByCustomerName(userName));
     }
 
     /**
      * Retrieve a customer by email address.
      * HTTP Method: GET
      * Endpoint: /api/customer/v1/getByEmailAddress/{emailAddress}
+     * Supports conditional requests, see {@link #conditional(CustomerResponse)}.
      *
      * @param emailAddress Customer's email address.
      * @return ResponseEntity containing ApiResponse with matching customer details.
      */
     @GetMapping("/getByEmailAddress/{emailAddress}")
     public ResponseEntity<ApiResponse> getByEmail(@PathVariable String emailAddress) {
-        CustomerResponse response = customerService.getByEmailAddress(emailAddress);
-        return ResponseEntity.ok(
-                new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+        return conditional(customerService.getByEmailAddress(emailAddress));
     }
 
     /**
@@ -169,6 +355,48 @@ public class CustomerController {
                         CUSTOMER_STATUS_UPDATED_SUCCESS, response));
     }
 
+    /**
+     * Queue a status change instead of writing it right away; see {@link StatusWriteBehindQueue}.
+     * Changes queued for the same customer before the next flush are coalesced into one write.
+     * HTTP Method: PATCH
+     * Endpoint: /api/customer/v1/status/{mobileNumber}/{status}/queued?durable=false
+     *
+     * @param mobileNumber Customer's mobile number.
+     * @param status       New status to be set (ACTIVE or INACTIVE).
+     * @param durable      Whether to answer only once the change is committed.
+     * @return {@code 202 ACCEPTED} once queued, or {@code 200 OK} once committed when {@code durable} is set.
+     */
+    @PatchMapping("/status/{mobileNumber}/{status}/queued")
+    @Operation(summary = "Queue a status change (write-behind)")
+    public CompletableFuture<ResponseEntity<ApiResponse>> queueStatusChange(@PathVariable String mobileNumber,
+                                                                            @PathVariable CustomerStatus status,
+                                                                            @RequestParam(defaultValue = "false") boolean durable) {
+        CompletableFuture<Void> written = statusWriteBehindQueue.submit(mobileNumber, status);
+        if (!durable) {
+            return CompletableFuture.completedFuture(ResponseEntity.accepted()
+                    .body(new ApiResponse(HttpStatus.ACCEPTED.value(), CUSTOMER_STATUS_QUEUED, null)));
+        }
+        return written.thenApply(ignored -> ResponseEntity
+                .ok(new ApiResponse(HttpStatus.OK.value(), CUSTOMER_STATUS_UPDATED_SUCCESS, null)));
+    }
+
+    /**
+     * Update the status of many customers at once using their mobile numbers.
+     * HTTP Method: PATCH
+     * Endpoint: /api/customer/v1/status/bulk
+     *
+     * @param request Request body containing the mobile numbers and the new status.
+     * @return ResponseEntity containing ApiResponse with the number of changed customers and the unknown mobile numbers.
+     */
+    @PatchMapping("/status/bulk")
+    @Operation(summary = "Update status of many customers")
+    public ResponseEntity<ApiResponse> updateStatusInBulk(@RequestBody CustomerStatusBulkRequest request) {
+        CustomerStatusBulkResponse response = customerService.updateStatusInBulk(request.getMobileNumbers(), request.getStatus());
+        return ResponseEntity
+                .ok(new ApiResponse(HttpStatus.OK.value(),
+                        CUSTOMER_STATUS_UPDATED_SUCCESS, response));
+    }
+
     /**
      * Fetches distinct customers by lastName AND firstName.
      * This ensures only unique customer records are returned when duplicates exist.
@@ -258,4 +486,26 @@ public class CustomerController {
         return ResponseEntity.ok(new ApiResponse(HttpStatus.OK.value(), "Customers fetched successfully", response));
     }
 
+    /**
+     * Wraps a single customer in a {@code 200 OK} response with a strong ETag derived from its
+     * {@code customerId} and {@code updatedDate}, which change on every write.
+     * <p>
+     * When the request's {@code If-None-Match} matches, Spring MVC answers {@code 304 Not Modified} without
+     * serializing the body. Lookups are served from {@code CustomerResponseCache}, so an unchanged poll of a cached
+     * customer costs neither a query nor JSON serialization. {@code Cache-Control: no-cache} makes clients and
+     * proxies revalidate on every poll instead of reusing the response blindly.
+     *
+     * @param response the customer
+     * @return the response entity
+     */
+    private static ResponseEntity<ApiResponse> conditional(CustomerResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (response.getCustomerId() != null && response.getUpdatedDate() != null) {
+            LocalDateTime updatedDate = response.getUpdatedDate();
+            long updatedMicros = updatedDate.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedDate.getNano() / 1_000;
+            builder.eTag(response.getCustomerId() + "-" + Long.toHexString(updatedMicros));
+        }
+        return builder.body(new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+    }
+
 }
\ No newline at end of file
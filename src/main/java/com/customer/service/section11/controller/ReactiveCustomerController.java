@@ -0,0 +1,137 @@
+package com.customer.service.section11.controller;
+
+import com.customer.service.section11.response.ApiResponse;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.service.ReactiveCustomerService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the lookup and name-search endpoints of {@link CustomerController}, backed by R2DBC.
+ * <p>
+ * Spring MVC subscribes to the returned {@link Mono}/{@link Flux} and completes the request asynchronously,
+ * so the servlet thread is released while the query runs. Lookups return the usual {@link ApiResponse};
+ * name searches stream one {@link CustomerResponse} per line as newline-delimited JSON, requesting the next
+ * row only after the previous one was written, so slow clients apply backpressure all the way to the database.
+ * A name search without matches answers {@code 200} with an empty stream, since an NDJSON response cannot carry the
+ * JSON error body of {@code GlobalExceptionHandler}.
+ */
+@RestController
+@RequestMapping("/api/customer/v1/reactive")
+@RequiredArgsConstructor
+public class ReactiveCustomerController {
+
+    private final ReactiveCustomerService reactiveCustomerService;
+
+    /**
+     * Retrieve a customer by mobile number.
+     * HTTP Method: GET
+     * Endpoint: /api/customer/v1/reactive/getByMobile/{customerMobileNumber}
+     *
+     * @param customerMobileNumber Customer's mobile number.
+     * @return Mono of ResponseEntity containing ApiResponse with matching customer details.
+     */
+    @GetMapping("/getByMobile/{customerMobileNumber}")
+    public Mono<ResponseEntity<ApiResponse>> getByMobile(@PathVariable String customerMobileNumber) {
+        return reactiveCustomerService.getByCustomerMobileNumber(customerMobileNumber)
+                .map(ReactiveCustomerController::ok);
+    }
+
+    /**
+     * Retrieve a customer by username.
+     * HTTP Method: GET
+     * Endpoint: /api/customer/v1/reactive/getByUserName/{userName}
+     *
+     * @param userName Customer's username.
+     * @return Mono of ResponseEntity containing ApiResponse with matching customer details.
+     */
+    @GetMapping("/getByUserName/{userName}")
+    public Mono<ResponseEntity<ApiResponse>> getByUserName(@PathVariable String userName) {
+        return reactiveCustomerService.getByCustomerName(userName)
+                .map(ReactiveCustomerController::ok);
+    }
+
+    /**
+     * Retrieve a customer by email address.
+     * HTTP Method: GET
+     * Endpoint: /api/customer/v1/reactive/getByEmailAddress/{emailAddress}
+     *
+     * @param emailAddress Customer's email address.
+     * @return Mono of ResponseEntity containing ApiResponse with matching customer details.
+     */
+    @GetMapping("/getByEmailAddress/{emailAddress}")
+    public Mono<ResponseEntity<ApiResponse>> getByEmail(@PathVariable String emailAddress) {
+        return reactiveCustomerService.getByEmailAddress(emailAddress)
+                .map(ReactiveCustomerController::ok);
+    }
+
+    /**
+     * Streams distinct customers by lastName AND firstName.
+     *
+     * @param lastName  The last name of the customer.
+     * @param firstName The first name of the customer.
+     * @return Flux of distinct CustomerResponse objects, written as newline-delimited JSON.
+     */
+    @GetMapping(value = "/getDistinctByLastNameAndFirstName/{lastname}/{firstname}",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream distinct by lastname and firstname")
+    public Flux<CustomerResponse> getDistinctByLastNameAndFirstName(@PathVariable("lastname") String lastName,
+                                                                    @PathVariable("firstname") String firstName) {
+        return reactiveCustomerService.getDistinctByLastNameAndFirstName(lastName, firstName);
+    }
+
+    /**
+     * Streams customers by lastName AND firstName (both conditions must match).
+     *
+     * @param lastName  The last name of the customer.
+     * @param firstName The first name of the customer.
+     * @return Flux of matching CustomerResponse objects, written as newline-delimited JSON.
+     */
+    @GetMapping(value = "/getByLastNameAndFirstName/{lastname}/{firstname}",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream by lastname AND firstname")
+    public Flux<CustomerResponse> getByLastNameAndFirstName(@PathVariable("lastname") String lastName,
+                                                            @PathVariable("firstname") String firstName) {
+        return reactiveCustomerService.getByLastNameAndFirstName(lastName, firstName);
+    }
+
+    /**
+     * Streams customers where either lastName OR firstName matches.
+     *
+     * @param lastName  The last name of the customer.
+     * @param firstName The first name of the customer.
+     * @return Flux of matching CustomerResponse objects, written as newline-delimited JSON.
+     */
+    @GetMapping(value = "/getByLastNameOrFirstName/{lastname}/{firstname}",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream by lastname OR firstname")
+    public Flux<CustomerResponse> getByLastNameOrFirstName(@PathVariable("lastname") String lastName,
+                                                           @PathVariable("firstname") String firstName) {
+        return reactiveCustomerService.getByLastNameOrFirstName(lastName, firstName);
+    }
+
+    /**
+     * Streams customers by firstName.
+     *
+     * @param firstName The first name of the customer.
+     * @return Flux of matching CustomerResponse objects, written as newline-delimited JSON.
+     */
+    @GetMapping(value = "/getByFirstName/{firstname}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream by firstName")
+    public Flux<CustomerResponse> getByFirstName(@PathVariable("firstname") String firstName) {
+        return reactiveCustomerService.getByFirstName(firstName);
+    }
+
+    private static ResponseEntity<ApiResponse> ok(CustomerResponse response) {
+        return ResponseEntity.ok(new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), response));
+    }
+}
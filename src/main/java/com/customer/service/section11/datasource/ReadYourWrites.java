@@ -0,0 +1,52 @@
+package com.customer.service.section11.datasource;
+
+/**
+ * Read-your-writes state of the current request, bound to the request thread.
+ * <p>
+ * Started by {@link ReadYourWritesFilter}. While it is pinned, {@link ReplicaRoutingDataSource} sends read-only
+ * transactions to the primary as well, so a client never reads a replica that has not caught up with its own write.
+ * A request is pinned when the client wrote recently, or as soon as it writes itself.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<ReadYourWrites> CURRENT = new ThreadLocal<>();
+
+    private final Runnable onFirstWrite;
+    private boolean pinned;
+    private boolean written;
+
+    private ReadYourWrites(boolean pinned, Runnable onFirstWrite) {
+        this.pinned = pinned;
+        this.onFirstWrite = onFirstWrite;
+    }
+
+    static ReadYourWrites start(boolean pinned, Runnable onFirstWrite) {
+        ReadYourWrites state = new ReadYourWrites(pinned, onFirstWrite);
+        CURRENT.set(state);
+        return state;
+    }
+
+    static ReadYourWrites current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Pins the rest of the request to the primary and, on the first write, lets the client know
+     * that its next requests must be pinned too.
+     */
+    void recordWrite() {
+        pinned = true;
+        if (!written) {
+            written = true;
+            onFirstWrite.run();
+        }
+    }
+
+    boolean isPinned() {
+        return pinned;
+    }
+}
@@ -0,0 +1,66 @@
+package com.customer.service.section11.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Keeps a client's reads on the primary for a while after it writes, so it reads its own writes
+ * even if the replicas lag behind.
+ * <p>
+ * The first write of a request sets the {@link #COOKIE} cookie to the time, in epoch milliseconds, until which
+ * the client stays pinned; requests that carry an unexpired cookie start pinned. The cookie is set while the
+ * controller runs, before the response is committed.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /** Cookie holding the epoch millisecond until which the client's reads use the primary. */
+    public static final String COOKIE = "customer-primary-until";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (window.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        ReadYourWrites.start(pinnedUntil(request) > now, () -> {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.customer.service.section11.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas of the primary database, bound from {@code customer.datasource.*}.
+ * <p>
+ * The primary is still configured through {@code spring.datasource.*}; the {@code spring.datasource.hikari.*}
+ * pool settings apply to every replica pool too.
+ *
+ * @param replicas             the replicas that serve read-only transactions, in round-robin order
+ * @param readYourWritesWindow how long a client's reads stay on the primary after one of its writes;
+ *                             {@code 0} turns stickiness off
+ */
+@ConfigurationProperties("customer.datasource")
+public record ReplicaDataSourceProperties(List<Replica> replicas,
+                                          @DefaultValue("5s") Duration readYourWritesWindow) {
+
+    /**
+     * Connection settings of one replica.
+     *
+     * @param url      the JDBC URL
+     * @param username the login user
+     * @param password the login password
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
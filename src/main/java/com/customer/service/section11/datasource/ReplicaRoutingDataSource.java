@@ -0,0 +1,88 @@
+package com.customer.service.section11.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas, round-robin, and everything else to the primary.
+ * <ul>
+ *   <li>The route is chosen when a connection is taken, from the transaction of the current thread. This only works
+ *       behind a {@code LazyConnectionDataSourceProxy}: the transaction manager asks for its connection before the
+ *       read-only flag is bound, and the proxy defers the real connection to the first statement.</li>
+ *   <li>Work outside a read-only transaction (writes, Flyway, {@code SUPPORTS} methods that are not read-only)
+ *       uses the primary.</li>
+ *   <li>Reads of a request pinned by {@link ReadYourWrites} use the primary; a write transaction pins its request.</li>
+ *   <li>A transaction routed to a replica is marked for its duration, see {@link #isReplicaRoute()}, so callers can
+ *       keep what it read out of shared state such as the response cache.</li>
+ * </ul>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Lookup key of the primary. */
+    public static final String PRIMARY = "primary";
+
+    /** Transaction resource bound while the current transaction reads from a replica. */
+    private static final Object REPLICA_ROUTE = new Object();
+
+    private final List<String> replicaKeys;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary  the primary, used for writes
+     * @param replicas the replicas, keyed by their route name
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicaKeys = List.copyOf(replicas.keySet());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        ReadYourWrites readYourWrites = ReadYourWrites.current();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (readYourWrites != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWrite();
+            }
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || (readYourWrites != null && readYourWrites.isPinned())) {
+            return PRIMARY;
+        }
+        markReplicaRoute();
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * Whether the current transaction took its connection from a replica, which may lag behind the primary.
+     * {@code false} outside a transaction and before the transaction ran its first statement.
+     *
+     * @return {@code true} if the current transaction reads from a replica
+     */
+    public static boolean isReplicaRoute() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_ROUTE);
+    }
+
+    private static void markReplicaRoute() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_ROUTE)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_ROUTE, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_ROUTE);
+            }
+        });
+    }
+}
@@ -9,12 +9,15 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.Builder;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -22,18 +25,25 @@ import java.time.LocalDateTime;
 /**
  * CustomerModel - Entity class for storing customer details in the database.
  * This class:
- *  - Represents a table in the database (`customer_details_section10`)
+ *  - Represents a table in the database (`customer_details_section11`)
  *  - Uses JPA annotations for ORM (Object-Relational Mapping)
  *  - Uses Lombok annotations to remove boilerplate getter/setter code
  *  - Tracks creation and update timestamps automatically
+ *  - Uses dynamic updates, so an UPDATE only writes the columns that actually changed
+ *  - Uses optimistic locking: every UPDATE checks and increments {@code version}
+ *  - Declares the name-search indexes; the schema itself is managed by Flyway (db/migration)
  */
 @Entity
-@Table(name = "customer_details_section11")
+@Table(name = "customer_details_section11", indexes = {
+        @Index(name = "idx_customer_last_first_name", columnList = "lastName, firstName"),
+        @Index(name = "idx_customer_first_name", columnList = "firstName")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@DynamicUpdate
 public class CustomerModel {
 
     @Id
@@ -76,4 +86,8 @@ public class CustomerModel {
     @Column(name = "updatedDate")
     @UpdateTimestamp
     private LocalDateTime updatedDate;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
\ No newline at end of file
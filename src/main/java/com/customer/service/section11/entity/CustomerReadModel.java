@@ -0,0 +1,38 @@
+package com.customer.service.section11.entity;
+
+import com.customer.service.section11.enums.CustomerStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only R2DBC mapping of the {@code customer_details_section11} table used by the reactive read API.
+ * <p>
+ * It mirrors {@link CustomerModel} without the password. The schema stays owned by the JPA entity and the
+ * Flyway migrations; column names follow Spring Data's default snake_case naming, which matches them.
+ */
+@Table("customer_details_section11")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerReadModel {
+
+    @Id
+    private Long customerId;
+    private String userName;
+    private String firstName;
+    private String lastName;
+    private Integer customerAge;
+    private String customerMobileNumber;
+    private String customerEmailAddress;
+    private String customerAddress;
+    private CustomerStatus userStatus;
+    private LocalDateTime createdDate;
+    private LocalDateTime updatedDate;
+}
@@ -0,0 +1,15 @@
+package com.customer.service.section11.enums;
+
+/**
+ * Outcome of a single row in a bulk customer creation request.
+ *
+ * <ul>
+ *     <li>{@link #CREATED} - The customer was inserted.</li>
+ *     <li>{@link #DUPLICATE} - The row was skipped because one of its unique keys is already taken,
+ *     either by an existing customer or by an earlier row of the same batch.</li>
+ * </ul>
+ */
+public enum CustomerBatchStatus {
+    CREATED,
+    DUPLICATE
+}
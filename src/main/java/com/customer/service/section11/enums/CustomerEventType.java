@@ -0,0 +1,18 @@
+package com.customer.service.section11.enums;
+
+/**
+ * Kind of change recorded in the customer outbox.
+ *
+ * <ul>
+ *     <li>{@link #CREATED} - The customer was inserted.</li>
+ *     <li>{@link #UPDATED} - Profile fields changed (names, age, email, address).</li>
+ *     <li>{@link #MOBILE_CHANGED} - The mobile number changed.</li>
+ *     <li>{@link #STATUS_CHANGED} - Only the status changed, including soft deletion.</li>
+ * </ul>
+ */
+public enum CustomerEventType {
+    CREATED,
+    UPDATED,
+    MOBILE_CHANGED,
+    STATUS_CHANGED
+}
@@ -0,0 +1,10 @@
+package com.customer.service.section11.enums;
+
+/**
+ * Unique customer keys checked before a customer is created or its mobile number changes.
+ */
+public enum CustomerKeyField {
+    USER_NAME,
+    EMAIL_ADDRESS,
+    MOBILE_NUMBER
+}
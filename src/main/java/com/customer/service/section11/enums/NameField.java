@@ -0,0 +1,9 @@
+package com.customer.service.section11.enums;
+
+/**
+ * Customer name fields served by the prefix (type-ahead) search.
+ */
+public enum NameField {
+    FIRST_NAME,
+    LAST_NAME
+}
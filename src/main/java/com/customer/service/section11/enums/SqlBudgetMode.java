@@ -0,0 +1,15 @@
+package com.customer.service.section11.enums;
+
+/**
+ * What happens when a request runs more SQL statements than its endpoint's budget.
+ *
+ * <ul>
+ *     <li>{@link #LOG} - The request completes and a warning is logged.</li>
+ *     <li>{@link #REJECT} - The statement that exceeds the budget fails, the transaction rolls back
+ *     and the request is answered with {@code 500 INTERNAL_SERVER_ERROR}.</li>
+ * </ul>
+ */
+public enum SqlBudgetMode {
+    LOG,
+    REJECT
+}
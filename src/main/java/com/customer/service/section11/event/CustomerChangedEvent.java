@@ -0,0 +1,15 @@
+package com.customer.service.section11.event;
+
+import com.customer.service.section11.response.CustomerResponse;
+
+/**
+ * Published by the customer service for every customer it creates or changes.
+ * <p>
+ * Listeners keep derived, in-process views of the customer table (search indexes) current. They should
+ * listen with {@code @TransactionalEventListener} so that they only see changes that were committed.
+ *
+ * @param previous the customer before the change, or {@code null} when it was created
+ * @param current  the customer after the change
+ */
+public record CustomerChangedEvent(CustomerResponse previous, CustomerResponse current) {
+}
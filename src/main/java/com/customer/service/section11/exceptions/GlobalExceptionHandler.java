@@ -1,11 +1,19 @@
 package com.customer.service.section11.exceptions;
 
 import com.customer.service.section11.response.ErrorResponse;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import static com.customer.service.section11.constant.CustomerConstant.CUSTOMER_ALREADY_EXISTS;
+import static com.customer.service.section11.constant.CustomerConstant.WRITE_CONFLICT;
+
 /**
  * Global exception handler for the application.
  *
@@ -48,4 +56,110 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(errorResponse);
     }
+
+    /**
+     * Handles requests stopped because they ran more SQL statements than their endpoint's budget.
+     *
+     * @param e the {@link SqlBudgetExceededException} thrown while preparing the statement over budget
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse}
+     *         with HTTP status {@code 500 INTERNAL_SERVER_ERROR}
+     */
+    @ExceptionHandler(SqlBudgetExceededException.class)
+    public ResponseEntity<ErrorResponse> handleSqlBudgetExceeded(SqlBudgetExceededException e) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles writes that kept losing optimistic-locking races after all their retries.
+     *
+     * @param e the {@link OptimisticLockingFailureException} of the last attempt
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse}
+     *         with HTTP status {@code 409 CONFLICT}
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(), WRITE_CONFLICT);
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles status changes rejected because the write-behind queue is full, telling the client when to retry.
+     *
+     * @param e the {@link StatusQueueFullException} thrown when queuing the change
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse}
+     *         with HTTP status {@code 503 SERVICE_UNAVAILABLE} and a {@code Retry-After} header
+     */
+    @ExceptionHandler(StatusQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleStatusQueueFull(StatusQueueFullException e) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles searches sorted by a property that cannot be sorted on.
+     *
+     * @param e the {@link UnsupportedSortException} thrown when building the query
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse}
+     *         with HTTP status {@code 400 BAD_REQUEST}
+     */
+    @ExceptionHandler(UnsupportedSortException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedSort(UnsupportedSortException e) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles requests with a missing or unusable value.
+     *
+     * @param e the {@link InvalidRequestException} thrown by the service layer
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse}
+     *         with HTTP status {@code 400 BAD_REQUEST}
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidRequestException e) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles unique-constraint violations raised by the database on insert or update.
+     *
+     * <p>This covers the race where two requests pass the duplicate check at the same time;
+     * the losing insert is reported exactly like a {@link CustomerAlreadyExistsException}.
+     * Any other integrity violation is rethrown and left to the default handling.
+     *
+     * @param e the {@link DataIntegrityViolationException} translated from the persistence layer
+     * @return a {@link ResponseEntity} containing an {@link ErrorResponse}
+     *         with HTTP status {@code 409 CONFLICT}
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        if (!isUniqueConstraintViolation(e)) {
+            throw e;
+        }
+        return handleCustomerAlreadyExists(new CustomerAlreadyExistsException(CUSTOMER_ALREADY_EXISTS));
+    }
+
+    private static boolean isUniqueConstraintViolation(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
 }
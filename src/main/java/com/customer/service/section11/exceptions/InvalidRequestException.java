@@ -0,0 +1,11 @@
+package com.customer.service.section11.exceptions;
+
+/**
+ * Thrown when a request is missing a required value or carries one the service cannot work with.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
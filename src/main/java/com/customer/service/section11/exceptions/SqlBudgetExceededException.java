@@ -0,0 +1,14 @@
+package com.customer.service.section11.exceptions;
+
+/**
+ * Exception thrown when a request runs more SQL statements than its endpoint's budget allows
+ * and the budget is enforced in {@code REJECT} mode
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException() {
+    }
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
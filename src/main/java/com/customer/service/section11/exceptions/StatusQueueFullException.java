@@ -0,0 +1,12 @@
+package com.customer.service.section11.exceptions;
+
+/**
+ * Thrown when a status change cannot be queued because the write-behind queue already holds
+ * changes for as many customers as it may; the caller should retry shortly or use the synchronous endpoint.
+ */
+public class StatusQueueFullException extends RuntimeException {
+
+    public StatusQueueFullException(String message) {
+        super(message);
+    }
+}
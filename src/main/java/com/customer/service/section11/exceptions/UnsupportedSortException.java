@@ -0,0 +1,11 @@
+package com.customer.service.section11.exceptions;
+
+/**
+ * Thrown when a search is asked to sort by a property that is not sortable, or by more than one property.
+ */
+public class UnsupportedSortException extends RuntimeException {
+
+    public UnsupportedSortException(String message) {
+        super(message);
+    }
+}
@@ -59,6 +59,33 @@ public class CustomerMapper {
                 .userStatus(model.getUserStatus())
                 .createdDate(model.getCreatedDate())
                 .updatedDate(model.getUpdatedDate())
+                .version(model.getVersion())
+                .build();
+    }
+
+    /**
+     * Copies a CustomerResponse with a new status, as written by a set-based status update,
+     * which also increments the version.
+     *
+     * @param response    the customer before the update
+     * @param status      the new status
+     * @param updatedDate the update timestamp that was stored
+     * @return a new CustomerResponse; the given one is not changed
+     */
+    public static CustomerResponse withStatus(CustomerResponse response, CustomerStatus status, LocalDateTime updatedDate) {
+        return CustomerResponse.builder()
+                .customerId(response.getCustomerId())
+                .userName(response.getUserName())
+                .firstName(response.getFirstName())
+                .lastName(response.getLastName())
+                .customerAge(response.getCustomerAge())
+                .customerMobileNumber(response.getCustomerMobileNumber())
+                .customerEmailAddress(response.getCustomerEmailAddress())
+                .customerAddress(response.getCustomerAddress())
+                .userStatus(status)
+                .createdDate(response.getCreatedDate())
+                .updatedDate(updatedDate)
+                .version(response.getVersion() == null ? null : response.getVersion() + 1)
                 .build();
     }
 }
@@ -0,0 +1,28 @@
+package com.customer.service.section11.outbox;
+
+import java.util.List;
+
+/**
+ * In-process consumer of the customer outbox. Every bean of this type receives every committed customer change,
+ * in outbox order, from {@link CustomerOutboxPoller}.
+ * <p>
+ * Delivery is at-least-once: when {@link #accept} throws, the same batch is offered again on the next poll, and a
+ * crash between delivery and saving the consumer's position repeats the last batch. Consumers must be idempotent,
+ * e.g. by ignoring events whose {@code eventId} they have already applied.
+ */
+public interface CustomerEventConsumer {
+
+    /**
+     * Identifies the consumer's position in {@code customer_outbox_offset}. Renaming a consumer replays the outbox.
+     *
+     * @return a stable name of at most 100 characters
+     */
+    String name();
+
+    /**
+     * Applies one batch of changes.
+     *
+     * @param events consecutive outbox events, ordered by {@code eventId}
+     */
+    void accept(List<CustomerOutboxEvent> events);
+}
@@ -0,0 +1,20 @@
+package com.customer.service.section11.outbox;
+
+import com.customer.service.section11.enums.CustomerEventType;
+import com.customer.service.section11.response.CustomerResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * One customer change read from the outbox table.
+ *
+ * @param eventId     id of the row, assigned on insert and increasing with every change; {@code null} until then
+ * @param sequence    delivery position, assigned in the order events become visible after their commit, so a
+ *                    reader following it never skips an event; {@code null} until then
+ * @param eventType   what kind of change this is
+ * @param customer    the customer after the change
+ * @param createdDate when the event was inserted, just before its transaction committed; {@code null} until then
+ */
+public record CustomerOutboxEvent(Long eventId, Long sequence, CustomerEventType eventType,
+                                  CustomerResponse customer, LocalDateTime createdDate) {
+}
@@ -0,0 +1,221 @@
+package com.customer.service.section11.outbox;
+
+import com.customer.service.section11.repository.CustomerOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.customer.service.section11.constant.CustomerConstant.OUTBOX_PURGE_INTERVAL_MINUTES;
+
+/**
+ * Delivers the customer outbox to every {@link CustomerEventConsumer} bean, in batches, on a single poller thread.
+ * <ul>
+ *   <li>Every {@code customer.outbox.poll-interval} the committed events that have no {@code delivery_seq} yet are
+ *       sequenced (see {@link CustomerOutboxRepository#assignSequences}), then each consumer receives the events
+ *       after its high-water mark, at most {@code customer.outbox.batch-size} at a time; full batches are followed
+ *       immediately by the next one. Sequencing runs even without consumers, because the changes feed reads it too.
+ *   </li>
+ *   <li>A batch is delivered in one transaction that locks the consumer's row in {@code customer_outbox_offset},
+ *       calls the consumer and moves the high-water mark to the batch's last sequence. With several instances only one
+ *       of them delivers to a consumer at a time. If the consumer throws, the transaction rolls back and the batch is
+ *       offered again on the next poll.</li>
+ *   <li>Sequences follow the order in which events become visible, not the order of their ids, so an event whose
+ *       transaction commits late is delivered on a later poll instead of falling below a high-water mark that has
+ *       already moved past its id. No clock is involved.</li>
+ *   <li>Every {@code OUTBOX_PURGE_INTERVAL_MINUTES}, events that every consumer has processed and that are older than
+ *       {@code customer.outbox.retention} are deleted.</li>
+ * </ul>
+ * Metrics, tagged with the consumer: {@code customer.outbox.delivered} and {@code customer.outbox.failed} (counters),
+ * {@code customer.outbox.batch} (timer of the consumer call), {@code customer.outbox.delay} (timer from inserting an
+ * event to delivering it) and {@code customer.outbox.high.water.mark} (gauge).
+ */
+@Slf4j
+@Component
+public class CustomerOutboxPoller implements InitializingBean, DisposableBean {
+
+    private final CustomerOutboxRepository outboxRepository;
+    private final List<CustomerEventConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate sequenceTemplate;
+    private final MeterRegistry registry;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final ScheduledExecutorService poller =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("customer-outbox-poller-"));
+    private final Map<String, AtomicLong> highWaterMarks = new ConcurrentHashMap<>();
+    /** Serializes polls and purges; held across database calls, so a {@code ReentrantLock} rather than a monitor. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public CustomerOutboxPoller(CustomerOutboxRepository outboxRepository,
+                                ObjectProvider<CustomerEventConsumer> consumers,
+                                PlatformTransactionManager transactionManager,
+                                ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${customer.outbox.batch-size}") int batchSize,
+                                @Value("${customer.outbox.poll-interval}") Duration pollInterval,
+                                @Value("${customer.outbox.retention}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.consumers = consumers.orderedStream().toList();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sequenceTemplate = new TransactionTemplate(transactionManager);
+        this.sequenceTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        for (CustomerEventConsumer consumer : this.consumers) {
+            Gauge.builder("customer.outbox.high.water.mark", highWaterMark(consumer), AtomicLong::get)
+                    .description("Sequence of the last outbox event processed by the consumer")
+                    .tag("consumer", consumer.name())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long intervalMillis = pollInterval.toMillis();
+        poller.scheduleWithFixedDelay(this::pollQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purgeQuietly,
+                OUTBOX_PURGE_INTERVAL_MINUTES, OUTBOX_PURGE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Sequences the newly committed events and delivers the pending ones to every consumer now. Called by the poller
+     * thread.
+     *
+     * @return the number of events delivered, summed over the consumers
+     */
+    public int poll() {
+        lock.lock();
+        try {
+            int sequenced;
+            do {
+                sequenced = sequenceTemplate.execute(status -> outboxRepository.assignSequences(batchSize));
+            } while (sequenced == batchSize);
+            int delivered = 0;
+            for (CustomerEventConsumer consumer : consumers) {
+                delivered += deliver(consumer);
+            }
+            return delivered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the events that every consumer has processed and that are older than the retention.
+     *
+     * @return the number of events deleted
+     */
+    public int purge() {
+        lock.lock();
+        try {
+            long processed = consumers.stream()
+                    .mapToLong(consumer -> highWaterMark(consumer).get())
+                    .min()
+                    .orElse(Long.MAX_VALUE);
+            return outboxRepository.deleteProcessed(processed, LocalDateTime.now().minus(retention));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int deliver(CustomerEventConsumer consumer) {
+        int delivered = 0;
+        List<CustomerOutboxEvent> batch;
+        do {
+            try {
+                batch = transactionTemplate.execute(status -> deliverBatch(consumer));
+            } catch (RuntimeException e) {
+                counter("customer.outbox.failed", "Outbox batches the consumer failed to process", consumer)
+                        .increment();
+                log.error("Outbox consumer {} failed, its batch is retried on the next poll", consumer.name(), e);
+                return delivered;
+            }
+            if (!batch.isEmpty()) {
+                CustomerOutboxEvent last = batch.get(batch.size() - 1);
+                highWaterMark(consumer).set(last.sequence());
+                counter("customer.outbox.delivered", "Outbox events delivered to the consumer", consumer)
+                        .increment(batch.size());
+                Timer.builder("customer.outbox.delay")
+                        .description("Time from inserting an outbox event to delivering it")
+                        .tag("consumer", consumer.name())
+                        .register(registry)
+                        .record(Duration.between(last.createdDate(), LocalDateTime.now()));
+                delivered += batch.size();
+            }
+        } while (batch.size() == batchSize);
+        return delivered;
+    }
+
+    private List<CustomerOutboxEvent> deliverBatch(CustomerEventConsumer consumer) {
+        long lastSequence = outboxRepository.lockLastSequence(consumer.name());
+        highWaterMark(consumer).set(lastSequence);
+        List<CustomerOutboxEvent> batch = outboxRepository.findAfter(lastSequence, batchSize);
+        if (!batch.isEmpty()) {
+            Timer.builder("customer.outbox.batch")
+                    .description("Time the consumer spent processing one outbox batch")
+                    .tag("consumer", consumer.name())
+                    .register(registry)
+                    .record(() -> consumer.accept(batch));
+            outboxRepository.saveLastSequence(consumer.name(), batch.get(batch.size() - 1).sequence());
+        }
+        return batch;
+    }
+
+    private AtomicLong highWaterMark(CustomerEventConsumer consumer) {
+        return highWaterMarks.computeIfAbsent(consumer.name(), name -> new AtomicLong());
+    }
+
+    private Counter counter(String name, String description, CustomerEventConsumer consumer) {
+        return Counter.builder(name).description(description).tag("consumer", consumer.name()).register(registry);
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.error("Outbox poll failed", e);
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.error("Outbox purge failed", e);
+        }
+    }
+
+    /**
+     * Stops the poller; undelivered events stay in the outbox for the next start.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        poller.shutdown();
+        poller.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,116 @@
+package com.customer.service.section11.outbox;
+
+import com.customer.service.section11.enums.CustomerEventType;
+import com.customer.service.section11.event.CustomerChangedEvent;
+import com.customer.service.section11.repository.CustomerOutboxRepository;
+import com.customer.service.section11.response.CustomerResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Records every {@link CustomerChangedEvent} in the outbox table, inside the transaction that published it.
+ * <ul>
+ *   <li>Listens synchronously, so it runs in the publishing transaction; it fails fast when there is none.</li>
+ *   <li>Collects the transaction's events and inserts them in JDBC batches just before it commits, so a bulk write
+ *       of thousands of customers adds a few batched statements rather than one INSERT per customer.</li>
+ *   <li>A failed insert rolls the customer change back with it; a rolled-back change never reaches the outbox.</li>
+ * </ul>
+ * Metrics: {@code customer.outbox.written} (counter, tagged with the event type).
+ */
+@Component
+public class CustomerOutboxWriter {
+
+    private final CustomerOutboxRepository outboxRepository;
+    private final MeterRegistry registry;
+
+    public CustomerOutboxWriter(CustomerOutboxRepository outboxRepository, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    /**
+     * Queues the change for insertion when the current transaction commits.
+     *
+     * @param event the change published by the customer service
+     */
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Customer changes must be published inside a transaction");
+        }
+        pendingEvents().add(new CustomerOutboxEvent(null, null, typeOf(event), event.current(), null));
+    }
+
+    /**
+     * Classifies a change by the fields that differ.
+     *
+     * @param event the change
+     * @return {@code CREATED} without a previous state, {@code MOBILE_CHANGED} or {@code STATUS_CHANGED} when only
+     *         that field changed, {@code UPDATED} otherwise
+     */
+    static CustomerEventType typeOf(CustomerChangedEvent event) {
+        CustomerResponse previous = event.previous();
+        CustomerResponse current = event.current();
+        if (previous == null) {
+            return CustomerEventType.CREATED;
+        }
+        boolean profileChanged = !Objects.equals(previous.getUserName(), current.getUserName())
+                || !Objects.equals(previous.getFirstName(), current.getFirstName())
+                || !Objects.equals(previous.getLastName(), current.getLastName())
+                || !Objects.equals(previous.getCustomerAge(), current.getCustomerAge())
+                || !Objects.equals(previous.getCustomerEmailAddress(), current.getCustomerEmailAddress())
+                || !Objects.equals(previous.getCustomerAddress(), current.getCustomerAddress());
+        boolean mobileChanged = !Objects.equals(previous.getCustomerMobileNumber(), current.getCustomerMobileNumber());
+        boolean statusChanged = previous.getUserStatus() != current.getUserStatus();
+        if (!profileChanged && mobileChanged && !statusChanged) {
+            return CustomerEventType.MOBILE_CHANGED;
+        }
+        if (!profileChanged && !mobileChanged && statusChanged) {
+            return CustomerEventType.STATUS_CHANGED;
+        }
+        return CustomerEventType.UPDATED;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CustomerOutboxEvent> pendingEvents() {
+        List<CustomerOutboxEvent> pending = (List<CustomerOutboxEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<CustomerOutboxEvent> events = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                outboxRepository.insertAll(events);
+            }
+
+            @Override
+            public void afterCommit() {
+                for (CustomerOutboxEvent event : events) {
+                    Counter.builder("customer.outbox.written")
+                            .description("Customer changes committed to the outbox")
+                            .tag("type", event.eventType().name())
+                            .register(registry)
+                            .increment();
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CustomerOutboxWriter.this);
+            }
+        });
+        return events;
+    }
+}
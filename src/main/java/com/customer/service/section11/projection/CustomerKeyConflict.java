@@ -0,0 +1,23 @@
+package com.customer.service.section11.projection;
+
+/**
+ * Result of checking the three unique customer keys in a single query.
+ *
+ * @param userNameMatches     number of customers already using the username
+ * @param emailAddressMatches number of customers already using the email address
+ * @param mobileNumberMatches number of customers already using the mobile number
+ */
+public record CustomerKeyConflict(long userNameMatches, long emailAddressMatches, long mobileNumberMatches) {
+
+    public boolean userNameTaken() {
+        return userNameMatches > 0;
+    }
+
+    public boolean emailAddressTaken() {
+        return emailAddressMatches > 0;
+    }
+
+    public boolean mobileNumberTaken() {
+        return mobileNumberMatches > 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.customer.service.section11.projection;
+
+/**
+ * The identifier and natural keys of a customer, used by set-based checks
+ * that do not need the rest of the row.
+ *
+ * @param customerId           the customer's id
+ * @param userName             the customer's username
+ * @param customerEmailAddress the customer's email address
+ * @param customerMobileNumber the customer's mobile number
+ */
+public record CustomerKeys(Long customerId, String userName, String customerEmailAddress, String customerMobileNumber) {
+}
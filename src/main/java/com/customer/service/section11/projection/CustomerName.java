@@ -0,0 +1,7 @@
+package com.customer.service.section11.projection;
+
+/**
+ * First and last name of a customer, read when the name prefix index is built.
+ */
+public record CustomerName(String firstName, String lastName) {
+}
@@ -0,0 +1,13 @@
+package com.customer.service.section11.projection;
+
+/**
+ * A summary of the customer table that changes with every insert, update and delete, used to tell whether
+ * a copy of the table kept elsewhere is still current. It does not depend on any clock: inserts raise the row count
+ * and the highest id, every update raises one row's version, and deletes lower the row count.
+ *
+ * @param rows          the number of customers
+ * @param maxCustomerId the highest customer id, {@code null} when the table is empty
+ * @param versionSum    the sum of every customer's version, {@code null} when the table is empty
+ */
+public record CustomerTableWatermark(Long rows, Long maxCustomerId, Long versionSum) {
+}
@@ -0,0 +1,86 @@
+package com.customer.service.section11.repository;
+
+import com.customer.service.section11.entity.CustomerModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static com.customer.service.section11.constant.CustomerConstant.BATCH_CHUNK_SIZE;
+
+/**
+ * CustomerBatchRepository inserts many customers through plain JDBC batches.
+ * <p>
+ * The {@code IDENTITY} id generator on {@link CustomerModel} forces Hibernate to execute one INSERT
+ * per entity, so bulk creation bypasses the persistence context and uses {@link JdbcTemplate} instead.
+ * The statements join the surrounding Spring transaction and the generated ids are read back from the batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerBatchRepository {
+
+    private static final String INSERT_CUSTOMER = """
+            insert into customer_details_section11
+                (user_name, first_name, last_name, customer_age, customer_mobile_number,
+                 customer_email_address, customer_address, password, user_status, created_date, updated_date)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the customers in JDBC batches of {@code BATCH_CHUNK_SIZE} rows
+     * and sets the generated {@code customerId} and the initial {@code version} on each of them.
+     *
+     * @param customers the customers to insert; their ids must be {@code null}
+     */
+    public void insertAll(List<CustomerModel> customers) {
+        for (int from = 0; from < customers.size(); from += BATCH_CHUNK_SIZE) {
+            insertChunk(customers.subList(from, Math.min(from + BATCH_CHUNK_SIZE, customers.size())));
+        }
+    }
+
+    private void insertChunk(List<CustomerModel> chunk) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_CUSTOMER, new String[]{"customer_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        CustomerModel customer = chunk.get(i);
+                        ps.setString(1, customer.getUserName());
+                        ps.setString(2, customer.getFirstName());
+                        ps.setString(3, customer.getLastName());
+                        ps.setObject(4, customer.getCustomerAge());
+                        ps.setString(5, customer.getCustomerMobileNumber());
+                        ps.setString(6, customer.getCustomerEmailAddress());
+                        ps.setString(7, customer.getCustomerAddress());
+                        ps.setString(8, customer.getPassword());
+                        ps.setString(9, customer.getUserStatus().name());
+                        ps.setTimestamp(10, Timestamp.valueOf(customer.getCreatedDate()));
+                        ps.setTimestamp(11, Timestamp.valueOf(customer.getUpdatedDate()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < chunk.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            chunk.get(i).setCustomerId(id.longValue());
+            chunk.get(i).setVersion(0L);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.customer.service.section11.repository;
+
+import com.customer.service.section11.exceptions.InvalidRequestException;
+import com.customer.service.section11.exceptions.UnsupportedSortException;
+import com.customer.service.section11.request.CustomerFilterRequest;
+import com.customer.service.section11.response.CustomerResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.customer.service.section11.repository.CustomerRepository.SELECT_CUSTOMER_RESPONSE;
+
+/**
+ * CustomerFilterRepository runs the customer filter search: any combination of name, status, age range and
+ * created/updated date range, one page at a time.
+ * <p>
+ * The JPQL is assembled from a fixed set of fragments so that the number of distinct statements stays small and
+ * each of them is reused by Hibernate's query plan cache and the JDBC driver's prepared-statement cache:
+ * <ul>
+ *   <li>Predicates are always appended in the same order and every value is a bind parameter.</li>
+ *   <li>A range with only one bound gets the widest value for the other one, so "from", "to" and "between"
+ *       share one {@code between} shape.</li>
+ *   <li>Sorting is limited to one property out of {@code SORTABLE}, with {@code customerId} as tie-breaker so that
+ *       pages are stable.</li>
+ * </ul>
+ * Rows are projected straight into {@link CustomerResponse}, and one extra row is fetched to tell whether a next
+ * page exists, so no COUNT(*) is run.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerFilterRepository {
+
+    /** Properties a search can be sorted by. */
+    static final Set<String> SORTABLE = Set.of(
+            "customerId", "userName", "firstName", "lastName", "customerAge", "createdDate", "updatedDate");
+
+    /** Bounds used for open date ranges; the widest range a MySQL {@code DATETIME} holds. */
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final EntityManager entityManager;
+
+    /**
+     * Finds one page of the customers matching every given filter.
+     *
+     * @param filter   the filters; {@code null} fields and blank names are ignored
+     * @param pageable the page number, page size and an optional sort on one of the {@code SORTABLE} properties;
+     *                 unsorted requests are ordered by {@code customerId}
+     * @return the page of customers
+     * @throws UnsupportedSortException if the sort uses another property or more than one
+     * @throws InvalidRequestException   if the page starts beyond the {@code int} row offset JPA supports
+     */
+    public Slice<CustomerResponse> findSlice(CustomerFilterRequest filter, Pageable pageable) {
+        if (pageable.getOffset() > Integer.MAX_VALUE) {
+            throw new InvalidRequestException("Page " + pageable.getPageNumber() + " of size " + pageable.getPageSize()
+                    + " starts beyond the last supported row offset " + Integer.MAX_VALUE);
+        }
+        Map<String, Object> parameters = parameters(filter);
+        TypedQuery<CustomerResponse> query = entityManager
+                .createQuery(jpql(parameters.keySet(), pageable.getSort()), CustomerResponse.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1);
+        parameters.forEach(query::setParameter);
+
+        List<CustomerResponse> customers = query.getResultList();
+        boolean hasNext = customers.size() > pageable.getPageSize();
+        if (hasNext) {
+            customers = customers.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(customers, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort()), hasNext);
+    }
+
+    /**
+     * Collects the bind parameters of the set filters, in predicate order. Ranges contribute both bounds or none.
+     */
+    static Map<String, Object> parameters(CustomerFilterRequest filter) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        putIfSet(parameters, "lastName", filter.getLastName());
+        putIfSet(parameters, "firstName", filter.getFirstName());
+        putIfSet(parameters, "userStatus", filter.getUserStatus());
+        if (filter.getMinAge() != null || filter.getMaxAge() != null) {
+            parameters.put("minAge", filter.getMinAge() == null ? 0 : filter.getMinAge());
+            parameters.put("maxAge", filter.getMaxAge() == null ? Integer.MAX_VALUE : filter.getMaxAge());
+        }
+        if (filter.getCreatedFrom() != null || filter.getCreatedTo() != null) {
+            parameters.put("createdFrom", filter.getCreatedFrom() == null ? MIN_DATE : filter.getCreatedFrom());
+            parameters.put("createdTo", filter.getCreatedTo() == null ? MAX_DATE : filter.getCreatedTo());
+        }
+        if (filter.getUpdatedFrom() != null || filter.getUpdatedTo() != null) {
+            parameters.put("updatedFrom", filter.getUpdatedFrom() == null ? MIN_DATE : filter.getUpdatedFrom());
+            parameters.put("updatedTo", filter.getUpdatedTo() == null ? MAX_DATE : filter.getUpdatedTo());
+        }
+        return parameters;
+    }
+
+    /**
+     * Builds the JPQL for the given parameters and sort. Equal inputs always yield the same string.
+     */
+    static String jpql(Set<String> parameters, Sort sort) {
+        List<String> predicates = new ArrayList<>();
+        if (parameters.contains("lastName")) {
+            predicates.add("c.lastName = :lastName");
+        }
+        if (parameters.contains("firstName")) {
+            predicates.add("c.firstName = :firstName");
+        }
+        if (parameters.contains("userStatus")) {
+            predicates.add("c.userStatus = :userStatus");
+        }
+        if (parameters.contains("minAge")) {
+            predicates.add("c.customerAge between :minAge and :maxAge");
+        }
+        if (parameters.contains("createdFrom")) {
+            predicates.add("c.createdDate between :createdFrom and :createdTo");
+        }
+        if (parameters.contains("updatedFrom")) {
+            predicates.add("c.updatedDate between :updatedFrom and :updatedTo");
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT_CUSTOMER_RESPONSE);
+        if (!predicates.isEmpty()) {
+            jpql.append("where ").append(String.join(" and ", predicates)).append(' ');
+        }
+        return jpql.append(orderBy(sort)).toString();
+    }
+
+    private static String orderBy(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return "order by c.customerId asc";
+        }
+        if (orders.size() > 1) {
+            throw new UnsupportedSortException("Customers can be sorted by one property only");
+        }
+        Sort.Order order = orders.get(0);
+        if (!SORTABLE.contains(order.getProperty())) {
+            throw new UnsupportedSortException("Customers cannot be sorted by " + order.getProperty()
+                    + "; sortable properties are " + String.join(", ", SORTABLE.stream().sorted().toList()));
+        }
+        String direction = order.isAscending() ? "asc" : "desc";
+        if (order.getProperty().equals("customerId")) {
+            return "order by c.customerId " + direction;
+        }
+        return "order by c." + order.getProperty() + " " + direction + ", c.customerId asc";
+    }
+
+    private static void putIfSet(Map<String, Object> parameters, String name, Object value) {
+        if (value != null && !(value instanceof String text && text.isBlank())) {
+            parameters.put(name, value);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.customer.service.section11.repository;
+
+import com.customer.service.section11.enums.CustomerEventType;
+import com.customer.service.section11.outbox.CustomerOutboxEvent;
+import com.customer.service.section11.response.CustomerResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.customer.service.section11.constant.CustomerConstant.BATCH_CHUNK_SIZE;
+
+/**
+ * CustomerOutboxRepository reads and writes the customer outbox through plain JDBC.
+ * <p>
+ * Events are appended in JDBC batches from inside the transaction that changed the customers, so a change and its
+ * event commit or roll back together. Committed events are then given their {@code delivery_seq}, the order in which
+ * they are read. Each consumer's position (the highest {@code delivery_seq} it has processed) is kept in
+ * {@code customer_outbox_offset}. The customer is stored as the JSON of its {@link CustomerResponse}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerOutboxRepository {
+
+    private static final String INSERT_EVENT = """
+            insert into customer_outbox (customer_id, event_type, payload, created_date)
+            values (?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_EVENTS_AFTER = """
+            select event_id, delivery_seq, event_type, payload, created_date
+            from customer_outbox
+            where delivery_seq > ?
+            order by delivery_seq
+            limit ?
+            """;
+
+    private static final String SEQUENCE_NAME = "customer_outbox";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Appends the events in JDBC batches of {@code BATCH_CHUNK_SIZE} rows. Their {@code eventId}s, {@code sequence}s
+     * and {@code createdDate}s are ignored: the database assigns the ids, every row is stamped with the current time
+     * and the sequence is assigned by {@link #assignSequences} once the rows are committed.
+     *
+     * @param events the events to append, in the order they happened
+     */
+    public void insertAll(List<CustomerOutboxEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = events.stream()
+                .map(event -> new Object[]{
+                        event.customer().getCustomerId(),
+                        event.eventType().name(),
+                        toJson(event.customer()),
+                        now})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows, BATCH_CHUNK_SIZE, (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                ps.setObject(i + 1, row[i]);
+            }
+        });
+    }
+
+    /**
+     * Gives the next sequence numbers to committed events that have none yet, in {@code event_id} order.
+     * <p>
+     * Event ids are assigned when a transaction inserts its events but become visible when it commits, so a
+     * transaction that commits late can fill a gap below ids that are already read. Sequences are assigned only to
+     * visible rows, by one transaction at a time (the sequence row is locked until the surrounding transaction ends),
+     * and become visible all together when it commits; a reader following the sequence therefore never skips an event,
+     * and a late event simply gets a later sequence. Must run in a read-committed transaction.
+     *
+     * @param limit the maximum number of events to sequence
+     * @return the number of events sequenced
+     */
+    public int assignSequences(int limit) {
+        long lastSequence = jdbcTemplate.queryForObject(
+                "select last_sequence from customer_outbox_sequence where sequence_name = ? for update",
+                Long.class, SEQUENCE_NAME);
+        List<Long> eventIds = jdbcTemplate.queryForList(
+                "select event_id from customer_outbox where delivery_seq is null order by event_id limit ?",
+                Long.class, limit);
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds) {
+            rows.add(new Object[]{++lastSequence, eventId});
+        }
+        jdbcTemplate.batchUpdate("update customer_outbox set delivery_seq = ? where event_id = ?", rows);
+        jdbcTemplate.update("update customer_outbox_sequence set last_sequence = ? where sequence_name = ?",
+                lastSequence, SEQUENCE_NAME);
+        return eventIds.size();
+    }
+
+    /**
+     * Reads the sequenced events after the given position.
+     *
+     * @param afterSequence the last sequence already processed, {@code 0} to start from the beginning
+     * @param limit         the maximum number of events
+     * @return the events ordered by {@code sequence}
+     */
+    public List<CustomerOutboxEvent> findAfter(long afterSequence, int limit) {
+        return jdbcTemplate.query(SELECT_EVENTS_AFTER, eventMapper(), afterSequence, limit);
+    }
+
+    /**
+     * Reads a consumer's position and locks it until the surrounding transaction ends, so only one instance
+     * delivers to the consumer at a time. The position row is created on first use.
+     *
+     * @param consumerName the consumer
+     * @return the sequence of the last event the consumer processed, {@code 0} if none
+     */
+    public long lockLastSequence(String consumerName) {
+        List<Long> position = jdbcTemplate.queryForList(
+                "select last_sequence from customer_outbox_offset where consumer_name = ? for update",
+                Long.class, consumerName);
+        if (!position.isEmpty()) {
+            return position.get(0);
+        }
+        try {
+            jdbcTemplate.update(
+                    "insert into customer_outbox_offset (consumer_name, last_sequence, updated_date) values (?, 0, ?)",
+                    consumerName, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            // Another instance created it first; the lock below waits for that instance to finish.
+        }
+        return jdbcTemplate.queryForObject(
+                "select last_sequence from customer_outbox_offset where consumer_name = ? for update",
+                Long.class, consumerName);
+    }
+
+    /**
+     * Moves a consumer's position forward.
+     *
+     * @param consumerName the consumer, whose position row is locked by the current transaction
+     * @param lastSequence the sequence of the last event the consumer processed
+     */
+    public void saveLastSequence(String consumerName, long lastSequence) {
+        jdbcTemplate.update(
+                "update customer_outbox_offset set last_sequence = ?, updated_date = ? where consumer_name = ?",
+                lastSequence, Timestamp.valueOf(LocalDateTime.now()), consumerName);
+    }
+
+    /**
+     * Deletes old events that every consumer has processed.
+     *
+     * @param upToSequence  events up to and including this sequence may be deleted; unsequenced events never are
+     * @param createdBefore only events created before this time are deleted
+     * @return the number of events deleted
+     */
+    public int deleteProcessed(long upToSequence, LocalDateTime createdBefore) {
+        return jdbcTemplate.update("delete from customer_outbox where delivery_seq <= ? and created_date < ?",
+                upToSequence, Timestamp.valueOf(createdBefore));
+    }
+
+    private RowMapper<CustomerOutboxEvent> eventMapper() {
+        return (rs, rowNum) -> new CustomerOutboxEvent(
+                rs.getLong("event_id"),
+                rs.getLong("delivery_seq"),
+                CustomerEventType.valueOf(rs.getString("event_type")),
+                fromJson(rs.getString("payload")),
+                rs.getTimestamp("created_date").toLocalDateTime());
+    }
+
+    private String toJson(CustomerResponse customer) {
+        try {
+            return objectMapper.writeValueAsString(customer);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize customer " + customer.getCustomerId(), e);
+        }
+    }
+
+    private CustomerResponse fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, CustomerResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read outbox payload " + payload, e);
+        }
+    }
+}
@@ -1,11 +1,31 @@
 package com.customer.service.section11.repository;
 
 import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.projection.CustomerKeyConflict;
+import com.customer.service.section11.projection.CustomerName;
+import com.customer.service.section11.projection.CustomerKeys;
+import com.customer.service.section11.projection.CustomerTableWatermark;
+import com.customer.service.section11.response.CustomerResponse;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.customer.service.section11.constant.CustomerConstant.EXPORT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * CustomerRepository acts as the Data Access Layer for interacting with the `CustomerModel` table.
@@ -21,6 +41,22 @@ import java.util.Optional;
 @Repository
 public interface CustomerRepository extends JpaRepository<CustomerModel, Long> {
 
+    /**
+     * Constructor expression that builds a {@link CustomerResponse} straight from the columns.
+     * <p>
+     * Used by the read-only lookups so no managed entity (and no password column) is loaded,
+     * no dirty-check snapshot is kept and no entity-to-DTO copy is needed.
+     */
+    String CUSTOMER_RESPONSE_FROM = """
+            new com.customer.service.section11.response.CustomerResponse(
+                c.customerId, c.userName, c.firstName, c.lastName, c.customerAge,
+                c.customerEmailAddress, c.customerMobileNumber, c.customerAddress,
+                c.userStatus, c.createdDate, c.updatedDate, c.version)
+            from CustomerModel c
+            """;
+
+    String SELECT_CUSTOMER_RESPONSE = "select " + CUSTOMER_RESPONSE_FROM;
+
     /**
      * Finds a customer by their mobile number.
      * <p>
@@ -74,6 +110,87 @@ public interface CustomerRepository extends JpaRepository<CustomerModel, Long> {
      */
     boolean existsByCustomerMobileNumber(String customerMobileNumber);
 
+    /**
+     * Checks username, email address and mobile number for duplicates in a single round trip.
+     * <p>
+     * - Each unique key is matched through its own unique index, and the counts tell which of them collide.
+     * - Always returns exactly one row, with zero counts when none of the keys is taken.
+     *
+     * @param userName             The username to check.
+     * @param customerEmailAddress The email address to check.
+     * @param customerMobileNumber The mobile number to check.
+     * @return the number of existing customers using each key.
+     */
+    @Query("""
+            select new com.customer.service.section11.projection.CustomerKeyConflict(
+                coalesce(sum(case when c.userName = :userName then 1 else 0 end), 0),
+                coalesce(sum(case when c.customerEmailAddress = :customerEmailAddress then 1 else 0 end), 0),
+                coalesce(sum(case when c.customerMobileNumber = :customerMobileNumber then 1 else 0 end), 0))
+            from CustomerModel c
+            where c.userName = :userName
+               or c.customerEmailAddress = :customerEmailAddress
+               or c.customerMobileNumber = :customerMobileNumber
+            """)
+    CustomerKeyConflict findKeyConflicts(@Param("userName") String userName,
+                                         @Param("customerEmailAddress") String customerEmailAddress,
+                                         @Param("customerMobileNumber") String customerMobileNumber);
+
+    /**
+     * Finds the keys of every customer whose username, email address or mobile number is in the given sets.
+     * <p>
+     * - Used to check a whole batch for duplicates with one query instead of three queries per customer.
+     * - Callers should keep each collection at {@code BATCH_CHUNK_SIZE} values or fewer.
+     *
+     * @param userNames              The usernames to check.
+     * @param customerEmailAddresses The email addresses to check.
+     * @param customerMobileNumbers  The mobile numbers to check.
+     * @return the keys of the customers using any of the given values.
+     */
+    @Query("""
+            select new com.customer.service.section11.projection.CustomerKeys(
+                c.customerId, c.userName, c.customerEmailAddress, c.customerMobileNumber)
+            from CustomerModel c
+            where c.userName in :userNames
+               or c.customerEmailAddress in :customerEmailAddresses
+               or c.customerMobileNumber in :customerMobileNumbers
+            """)
+    List<CustomerKeys> findKeysMatchingAny(@Param("userNames") Collection<String> userNames,
+                                           @Param("customerEmailAddresses") Collection<String> customerEmailAddresses,
+                                           @Param("customerMobileNumbers") Collection<String> customerMobileNumbers);
+
+    /**
+     * Finds every customer whose mobile number is in the given set.
+     *
+     * @param customerMobileNumbers The mobile numbers to look up.
+     * @return the matching customers.
+     */
+    @Query(SELECT_CUSTOMER_RESPONSE + "where c.customerMobileNumber in :customerMobileNumbers")
+    List<CustomerResponse> findResponsesByCustomerMobileNumberIn(
+            @Param("customerMobileNumbers") Collection<String> customerMobileNumbers);
+
+    /**
+     * Sets the status of every customer whose mobile number is in the given set, in one UPDATE statement.
+     * <p>
+     * - Rows that already have the target status are not touched, so the result counts real changes only.
+     * - Bypasses the persistence context; it is flushed before and cleared after the statement.
+     * - Increments the version, so a concurrent entity update of the same customer fails its optimistic lock.
+     *
+     * @param customerMobileNumbers The mobile numbers of the customers to update.
+     * @param status                The new status.
+     * @param updatedDate           The update timestamp to store.
+     * @return the number of rows changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update CustomerModel c
+            set c.userStatus = :status, c.updatedDate = :updatedDate, c.version = c.version + 1
+            where c.customerMobileNumber in :customerMobileNumbers
+              and c.userStatus <> :status
+            """)
+    int updateStatusByCustomerMobileNumberIn(@Param("customerMobileNumbers") Collection<String> customerMobileNumbers,
+                                             @Param("status") CustomerStatus status,
+                                             @Param("updatedDate") LocalDateTime updatedDate);
+
     /**
      * Finds distinct customers by lastName and firstName.
      * Removes duplicates in the result based on the combination of these two fields.
@@ -129,4 +246,149 @@ public interface CustomerRepository extends JpaRepository<CustomerModel, Long> {
      */
     List<CustomerModel> findByFirstNameEquals(String firstName);
 
+    /**
+     * Finds a customer by mobile number and projects it directly into a {@link CustomerResponse}.
+     *
+     * @param customerMobileNumber The unique mobile number of the customer.
+     * @return Optional containing CustomerResponse if found, else empty.
+     */
+    @Query(SELECT_CUSTOMER_RESPONSE + "where c.customerMobileNumber = :customerMobileNumber")
+    Optional<CustomerResponse> findResponseByCustomerMobileNumber(@Param("customerMobileNumber") String customerMobileNumber);
+
+    /**
+     * Finds a customer by username and projects it directly into a {@link CustomerResponse}.
+     *
+     * @param userName The unique username of the customer.
+     * @return Optional containing CustomerResponse if found, else empty.
+     */
+    @Query(SELECT_CUSTOMER_RESPONSE + "where c.userName = :userName")
+    Optional<CustomerResponse> findResponseByUserName(@Param("userName") String userName);
+
+    /**
+     * Finds a customer by email address and projects it directly into a {@link CustomerResponse}.
+     *
+     * @param customerEmailAddress The unique email address of the customer.
+     * @return Optional containing CustomerResponse if found, else empty.
+     */
+    @Query(SELECT_CUSTOMER_RESPONSE + "where c.customerEmailAddress = :customerEmailAddress")
+    Optional<CustomerResponse> findResponseByCustomerEmailAddress(@Param("customerEmailAddress") String customerEmailAddress);
+
+    /**
+     * Projection variant of {@link #findDistinctByLastNameAndFirstName(String, String)}.
+     *
+     * @param lastName the last name of the customer
+     * @param firstName the first name of the customer
+     * @return a list of distinct matching customers
+     */
+    @Query("select distinct " + CUSTOMER_RESPONSE_FROM + "where c.lastName = :lastName and c.firstName = :firstName")
+    List<CustomerResponse> findDistinctResponsesByLastNameAndFirstName(@Param("lastName") String lastName,
+                                                                      @Param("firstName") String firstName);
+
+    /**
+     * Projection variant of {@link #findByLastNameAndFirstName(String, String)}.
+     *
+     * @param lastName the last name of the customer
+     * @param firstName the first name of the customer
+     * @return a list of customers matching both names
+     */
+    @Query(SELECT_CUSTOMER_RESPONSE + "where c.lastName = :lastName and c.firstName = :firstName")
+    List<CustomerResponse> findResponsesByLastNameAndFirstName(@Param("lastName") String lastName,
+                                                              @Param("firstName") String firstName);
+
+    /**
+     * Projection variant of {@link #findByLastNameOrFirstName(String, String)}.
+     *
+     * @param lastName the last name of the customer
+     * @param firstName the first name of the customer
+     * @return a list of customers matching either condition
+     */
+    @Query(SELECT_CUSTOMER_RESPONSE + "where c.lastName = :lastName or c.firstName = :firstName")
+    List<CustomerResponse> findResponsesByLastNameOrFirstName(@Param("lastName") String lastName,
+                                                             @Param("firstName") String firstName);
+
+    /**
+     * Projection variant of {@link #findByFirstName(String)}, also used for the "Is" and "Equals" lookups
+     * because all three produce the same SQL.
+     *
+     * @param firstName the first name of the customer
+     * @return a list of customers with the given first name
+     */
+    @Query(SELECT_CUSTOMER_RESPONSE + "where c.firstName = :firstName")
+    List<CustomerResponse> findResponsesByFirstName(@Param("firstName") String firstName);
+
+    /**
+     * Finds the next slice of customers whose id is greater than the given cursor.
+     * <p>
+     * - Seeks on the primary key instead of using an OFFSET, so every page costs the same however deep the client pages.
+     * - Returns a {@link Slice}, which fetches one extra row to detect a next page instead of running a COUNT(*).
+     *
+     * @param afterId  the last customerId the client has already seen
+     * @param pageable the page size; the page number must always be 0
+     * @return a slice of customers ordered by customerId
+     */
+    Slice<CustomerModel> findByCustomerIdGreaterThanOrderByCustomerIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Streams every customer ordered by customerId.
+     * <p>
+     * - Rows are read through a JDBC cursor using the fetch-size hint instead of being loaded into one list.
+     * - Entities are loaded read-only, so Hibernate keeps no dirty-check snapshot for them.
+     * - Must be consumed inside a transaction and closed after use (try-with-resources).
+     *
+     * @return a stream over all customers
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from CustomerModel c order by c.customerId")
+    Stream<CustomerModel> streamAll();
+
+    /**
+     * Streams the first and last name of every customer through a database cursor, to build the
+     * name prefix index at startup. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream over the names of all customers
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new com.customer.service.section11.projection.CustomerName(c.firstName, c.lastName) from CustomerModel c")
+    Stream<CustomerName> streamNames();
+
+    /**
+     * Streams the unique keys of every customer through a database cursor, to build the key filters
+     * used by the uniqueness checks. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream over the keys of all customers
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            select new com.customer.service.section11.projection.CustomerKeys(
+                c.customerId, c.userName, c.customerEmailAddress, c.customerMobileNumber)
+            from CustomerModel c
+            """)
+    Stream<CustomerKeys> streamKeys();
+
+    /**
+     * Streams every customer, projected into a {@link CustomerResponse}, through a database cursor, to rebuild
+     * the full-text search index. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream over all customers ordered by customerId
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_CUSTOMER_RESPONSE + "order by c.customerId")
+    Stream<CustomerResponse> streamResponses();
+
+    /**
+     * Summarizes the table in one aggregate query, so the search index can tell on startup whether the
+     * customers changed since it was last written.
+     *
+     * @return the current watermark of the customer table
+     */
+    @Query("""
+            select new com.customer.service.section11.projection.CustomerTableWatermark(
+                count(c), max(c.customerId), sum(c.version))
+            from CustomerModel c
+            """)
+    CustomerTableWatermark findWatermark();
+
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.customer.service.section11.repository;
+
+import com.customer.service.section11.entity.CustomerReadModel;
+import com.customer.service.section11.response.CustomerResponse;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the lookup and name-search finders of {@link CustomerRepository}.
+ * <p>
+ * Every finder selects only the response columns and maps them straight into {@link CustomerResponse},
+ * so no intermediate entity is built. {@link Flux} results are streamed row by row as the subscriber requests them.
+ * <p>
+ * The SQL is written out instead of derived from the method names: Spring Data R2DBC re-derives a query on
+ * every invocation, which made derived finders several times slower than the statement itself.
+ * <p>
+ * Extends the plain Spring Data {@link org.springframework.data.repository.Repository} marker, so only the
+ * read-only finders declared here exist; no CRUD methods are exposed on the read model.
+ */
+@Repository
+public interface ReactiveCustomerRepository
+        extends org.springframework.data.repository.Repository<CustomerReadModel, Long> {
+
+    String SELECT_CUSTOMER_RESPONSE = """
+            select customer_id, user_name, first_name, last_name, customer_age, customer_mobile_number,
+                   customer_email_address, customer_address, user_status, created_date, updated_date
+            from customer_details_section11
+            """;
+
+    @Query(SELECT_CUSTOMER_RESPONSE + "where customer_mobile_number = :customerMobileNumber")
+    Mono<CustomerResponse> findResponseByCustomerMobileNumber(String customerMobileNumber);
+
+    @Query(SELECT_CUSTOMER_RESPONSE + "where user_name = :userName")
+    Mono<CustomerResponse> findResponseByUserName(String userName);
+
+    @Query(SELECT_CUSTOMER_RESPONSE + "where customer_email_address = :customerEmailAddress")
+    Mono<CustomerResponse> findResponseByCustomerEmailAddress(String customerEmailAddress);
+
+    @Query("""
+            select distinct customer_id, user_name, first_name, last_name, customer_age, customer_mobile_number,
+                   customer_email_address, customer_address, user_status, created_date, updated_date
+            from customer_details_section11
+            where last_name = :lastName and first_name = :firstName
+            """)
+    Flux<CustomerResponse> findDistinctResponsesByLastNameAndFirstName(String lastName, String firstName);
+
+    @Query(SELECT_CUSTOMER_RESPONSE + "where last_name = :lastName and first_name = :firstName")
+    Flux<CustomerResponse> findResponsesByLastNameAndFirstName(String lastName, String firstName);
+
+    @Query(SELECT_CUSTOMER_RESPONSE + "where last_name = :lastName or first_name = :firstName")
+    Flux<CustomerResponse> findResponsesByLastNameOrFirstName(String lastName, String firstName);
+
+    @Query(SELECT_CUSTOMER_RESPONSE + "where first_name = :firstName")
+    Flux<CustomerResponse> findResponsesByFirstName(String firstName);
+}
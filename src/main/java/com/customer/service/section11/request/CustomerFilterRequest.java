@@ -0,0 +1,42 @@
+package com.customer.service.section11.request;
+
+import com.customer.service.section11.enums.CustomerStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * CustomerFilterRequest carries the optional filters of the customer filter search, bound from query parameters.
+ * <p>
+ * Key Points:
+ * <ul>
+ *   <li>Every field is optional; a {@code null} field does not restrict the result.</li>
+ *   <li>Set filters are combined with AND.</li>
+ *   <li>Ranges are inclusive and may be open on either side; dates use ISO format ({@code 2025-01-31T00:00:00}).</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CustomerFilterRequest {
+    private String firstName;
+    private String lastName;
+    private CustomerStatus userStatus;
+    private Integer minAge;
+    private Integer maxAge;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+}
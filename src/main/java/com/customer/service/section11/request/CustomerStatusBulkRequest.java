@@ -0,0 +1,24 @@
+package com.customer.service.section11.request;
+
+import com.customer.service.section11.enums.CustomerStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * CustomerStatusBulkRequest is the input payload for changing the status
+ * of many customers at once, identified by their mobile numbers.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CustomerStatusBulkRequest {
+    private List<String> mobileNumbers;
+    private CustomerStatus status;
+}
@@ -0,0 +1,17 @@
+package com.customer.service.section11.response;
+
+import com.customer.service.section11.enums.CustomerBatchStatus;
+
+/**
+ * Result of one row of a bulk customer creation request.
+ *
+ * @param index                the position of the row in the request list
+ * @param userName             the username of the row
+ * @param customerMobileNumber the mobile number of the row
+ * @param status               whether the row was created or skipped as a duplicate
+ * @param customerId           the generated id when created, otherwise {@code null}
+ * @param message              the duplicate fields when skipped, otherwise {@code null}
+ */
+public record CustomerBatchResult(int index, String userName, String customerMobileNumber,
+                                  CustomerBatchStatus status, Long customerId, String message) {
+}
@@ -0,0 +1,15 @@
+package com.customer.service.section11.response;
+
+import com.customer.service.section11.outbox.CustomerOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Represents one slice of the customer change feed, read from the outbox.
+ *
+ * @param events     the changes in this slice, ordered by {@code sequence}
+ * @param hasNext    whether the slice was full, so more changes may follow right away
+ * @param nextCursor the {@code afterSequence} to pass for the next slice; unchanged when the slice is empty
+ */
+public record CustomerChangesResponse(List<CustomerOutboxEvent> events, boolean hasNext, long nextCursor) {
+}
@@ -0,0 +1,14 @@
+package com.customer.service.section11.response;
+
+import java.util.List;
+
+/**
+ * Represents one page of the customer filter search.
+ *
+ * @param customers the customers on this page, in the requested order
+ * @param hasNext   whether more customers match after this page
+ * @param page      the zero-based page number
+ * @param size      the page size
+ */
+public record CustomerFilterResponse(List<CustomerResponse> customers, boolean hasNext, int page, int size) {
+}
@@ -1,6 +1,7 @@
 package com.customer.service.section11.response;
 
 import com.customer.service.section11.enums.CustomerStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.AllArgsConstructor;
@@ -41,4 +42,7 @@ public class CustomerResponse {
     private CustomerStatus userStatus;
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
+    /** Optimistic-locking version of the row, used to order changes internally; not part of the API. */
+    @JsonIgnore
+    private Long version;
 }
\ No newline at end of file
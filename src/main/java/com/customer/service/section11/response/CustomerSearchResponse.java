@@ -0,0 +1,16 @@
+package com.customer.service.section11.response;
+
+import java.util.List;
+
+/**
+ * Represents one page of full-text search results.
+ *
+ * @param customers      the customers on this page, best match first
+ * @param totalHits      the number of matching customers
+ * @param totalHitsExact whether {@code totalHits} is exact; when {@code false} it is a lower bound
+ * @param page           the zero-based page number
+ * @param size           the page size
+ */
+public record CustomerSearchResponse(List<CustomerResponse> customers, long totalHits, boolean totalHitsExact,
+                                     int page, int size) {
+}
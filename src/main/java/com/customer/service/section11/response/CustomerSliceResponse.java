@@ -0,0 +1,13 @@
+package com.customer.service.section11.response;
+
+import java.util.List;
+
+/**
+ * Represents one keyset-paginated slice of customers.
+ *
+ * @param customers  the customers in this slice, ordered by {@code customerId}
+ * @param hasNext    whether more customers exist after this slice
+ * @param nextCursor the {@code afterId} to pass for the next slice, or {@code null} when there is none
+ */
+public record CustomerSliceResponse(List<CustomerResponse> customers, boolean hasNext, Long nextCursor) {
+}
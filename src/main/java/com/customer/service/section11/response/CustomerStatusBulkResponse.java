@@ -0,0 +1,12 @@
+package com.customer.service.section11.response;
+
+import java.util.List;
+
+/**
+ * Result of a bulk status update.
+ *
+ * @param updatedCount          number of customers whose status actually changed
+ * @param notFoundMobileNumbers requested mobile numbers that do not belong to any customer
+ */
+public record CustomerStatusBulkResponse(int updatedCount, List<String> notFoundMobileNumbers) {
+}
@@ -0,0 +1,10 @@
+package com.customer.service.section11.response;
+
+/**
+ * One type-ahead suggestion of the prefix search.
+ *
+ * @param name      the matching name
+ * @param customers how many customers carry this name
+ */
+public record NameSuggestion(String name, int customers) {
+}
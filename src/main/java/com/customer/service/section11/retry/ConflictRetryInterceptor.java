@@ -0,0 +1,101 @@
+package com.customer.service.section11.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.StaleStateException;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.customer.service.section11.constant.CustomerConstant.WRITE_CONFLICT_BASE_BACKOFF_MILLIS;
+import static com.customer.service.section11.constant.CustomerConstant.WRITE_CONFLICT_MAX_BACKOFF_MILLIS;
+
+/**
+ * Retries {@link RetryOnConflict} methods that fail with an optimistic-locking conflict.
+ * <ul>
+ *   <li>Must run outside the transaction advisor, so every attempt gets a new transaction. A call that joins an
+ *       existing transaction is not retried: that transaction is already marked rollback-only.</li>
+ *   <li>Waits a random time between zero and an exponentially growing cap before each retry (full jitter),
+ *       so writers that collided once do not collide again in lockstep.</li>
+ *   <li>Gives up after {@link RetryOnConflict#maxAttempts()} and rethrows the last conflict.</li>
+ *   <li>Counts every conflict as {@code customer.write.conflicts}, tagged with the {@code method} and the
+ *       {@code outcome}: {@code retried} or {@code exhausted}.</li>
+ * </ul>
+ */
+@Slf4j
+public class ConflictRetryInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConflictRetryInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || !(invocation instanceof ProxyMethodInvocation proxyInvocation)) {
+            return invocation.proceed();
+        }
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), AopUtils.getTargetClass(invocation.getThis()));
+        RetryOnConflict retry = AnnotatedElementUtils.findMergedAnnotation(method, RetryOnConflict.class);
+        int maxAttempts = retry == null ? 1 : Math.max(1, retry.maxAttempts());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return proxyInvocation.invocableClone().proceed();
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    count(method, "exhausted");
+                    log.warn("{} lost {} optimistic-locking races in a row, giving up", method.getName(), attempt);
+                    throw e;
+                }
+                count(method, "retried");
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private static boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException
+                    || cause instanceof OptimisticLockException
+                    || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void backOff(int attempt, RuntimeException conflict) {
+        long cap = Math.min(WRITE_CONFLICT_MAX_BACKOFF_MILLIS, WRITE_CONFLICT_BASE_BACKOFF_MILLIS << (attempt - 1));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private void count(Method method, String outcome) {
+        meterRegistry.ifAvailable(registry -> Counter.builder("customer.write.conflicts")
+                .description("Optimistic-locking conflicts of customer writes")
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment());
+    }
+}
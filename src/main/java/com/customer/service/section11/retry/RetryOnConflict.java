@@ -0,0 +1,27 @@
+package com.customer.service.section11.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static com.customer.service.section11.constant.CustomerConstant.WRITE_CONFLICT_MAX_ATTEMPTS;
+
+/**
+ * Marks a transactional write that is retried when it loses an optimistic-locking race.
+ * <p>
+ * Every attempt runs the whole method again in a new transaction, so it re-reads the customer and reapplies the
+ * change to the current version. The method must therefore have no side effects outside its transaction.
+ * Handled by {@link ConflictRetryInterceptor}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+
+    /**
+     * @return the maximum number of attempts, including the first one
+     */
+    int maxAttempts() default WRITE_CONFLICT_MAX_ATTEMPTS;
+}
@@ -0,0 +1,97 @@
+package com.customer.service.section11.search;
+
+import com.customer.service.section11.enums.NameField;
+import com.customer.service.section11.event.CustomerChangedEvent;
+import com.customer.service.section11.projection.CustomerName;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.response.NameSuggestion;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static com.customer.service.section11.constant.CustomerConstant.PREFIX_INDEX_COMPACTION_THRESHOLD;
+
+/**
+ * In-process type-ahead index over the first and last names of all customers.
+ * <ul>
+ *   <li>Built while the application starts, before the web server accepts requests, by streaming only the
+ *       two name columns through a database cursor.</li>
+ *   <li>Kept current from {@link CustomerChangedEvent}s after the publishing transaction commits, so rolled-back
+ *       writes never reach it.</li>
+ *   <li>Answers from memory without touching the database; see {@link NamePrefixIndex} for the layout.</li>
+ * </ul>
+ */
+@Component
+public class CustomerNameIndex implements InitializingBean {
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NamePrefixIndex firstNames = new NamePrefixIndex(PREFIX_INDEX_COMPACTION_THRESHOLD);
+    private final NamePrefixIndex lastNames = new NamePrefixIndex(PREFIX_INDEX_COMPACTION_THRESHOLD);
+
+    public CustomerNameIndex(CustomerRepository customerRepository, PlatformTransactionManager transactionManager) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Loads both indexes from the customer table, counting the names as the cursor streams them so only the
+     * distinct names are held in memory.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        NamePrefixIndex.Loader first = firstNames.loader();
+        NamePrefixIndex.Loader last = lastNames.loader();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<CustomerName> names = customerRepository.streamNames()) {
+                names.forEach(name -> {
+                    first.add(name.firstName());
+                    last.add(name.lastName());
+                });
+            }
+        });
+        first.publish();
+        last.publish();
+    }
+
+    /**
+     * Returns the names of the given field that start with the prefix.
+     *
+     * @param field  the name field to search
+     * @param prefix the typed prefix, matched case-insensitively
+     * @param limit  the maximum number of suggestions
+     * @return the suggestions in alphabetical order
+     */
+    public List<NameSuggestion> search(NameField field, String prefix, int limit) {
+        return (field == NameField.LAST_NAME ? lastNames : firstNames).search(prefix, limit);
+    }
+
+    /**
+     * Applies a committed customer change to both indexes.
+     *
+     * @param event the change published by the customer service
+     */
+    @TransactionalEventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        CustomerResponse previous = event.previous();
+        CustomerResponse current = event.current();
+        move(firstNames, previous == null ? null : previous.getFirstName(), current == null ? null : current.getFirstName());
+        move(lastNames, previous == null ? null : previous.getLastName(), current == null ? null : current.getLastName());
+    }
+
+    private static void move(NamePrefixIndex index, String from, String to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        index.remove(from);
+        index.add(to);
+    }
+}
@@ -0,0 +1,503 @@
+package com.customer.service.section11.search;
+
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.event.CustomerChangedEvent;
+import com.customer.service.section11.projection.CustomerTableWatermark;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.response.CustomerSearchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.CharTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.customer.service.section11.constant.CustomerConstant.MAX_SEARCH_RESULTS;
+import static com.customer.service.section11.constant.CustomerConstant.MAX_SEARCH_TERMS;
+import static com.customer.service.section11.constant.CustomerConstant.SEARCH_INDEX_MAX_STALE_SECONDS;
+import static com.customer.service.section11.constant.CustomerConstant.SEARCH_INDEX_MIN_STALE_SECONDS;
+
+/**
+ * Embedded Lucene full-text index over names, username, email, mobile number and address,
+ * stored on local disk under {@code customer.search.index-dir}.
+ * <ul>
+ *   <li>Every field is split on anything that is not a letter or digit, lower-cased and accent-folded,
+ *       so fragments of an email address ({@code "doe"} in {@code john.doe@example.com}) match.</li>
+ *   <li>Each search term must match some field exactly, as a prefix or, from four characters on, within one edit;
+ *       exact matches and name fields rank highest. Results are served from stored fields, so a search never reaches the database.</li>
+ *   <li>Updated from {@link CustomerChangedEvent}s after the publishing transaction commits, on a single indexer
+ *       thread; changes become searchable within {@code SEARCH_INDEX_MAX_STALE_SECONDS} (near real time).
+ *       Transactions can commit in one order and queue their changes in another, so a change older than the
+ *       indexed {@code version} of the customer is skipped. A change that fails to index is logged and makes the
+ *       next start rebuild.</li>
+ *   <li>Reused across restarts after a clean shutdown, provided the customer table still has the
+ *       {@link CustomerTableWatermark} recorded at shutdown, so writes made while this instance was down (by another
+ *       instance or directly in the database) are not missed. Rebuilt from the database on startup otherwise, and on
+ *       demand through {@link #rebuild()}, which replaces documents in place so searches keep working while it runs.
+ *   </li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class CustomerSearchIndex implements InitializingBean, DisposableBean {
+
+    private static final String CUSTOMER_ID = "customerId";
+    private static final String GENERATION = "generation";
+    private static final String USER_NAME = "userName";
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+    private static final String EMAIL_ADDRESS = "customerEmailAddress";
+    private static final String MOBILE_NUMBER = "customerMobileNumber";
+    private static final String ADDRESS = "customerAddress";
+    private static final String AGE = "customerAge";
+    private static final String STATUS = "userStatus";
+    private static final String CREATED_DATE = "createdDate";
+    private static final String UPDATED_DATE = "updatedDate";
+    private static final String VERSION = "version";
+    /** Catch-all field holding every searched value, so a typo costs one fuzzy automaton instead of one per field. */
+    private static final String ALL_TEXT = "allText";
+
+    /** Searched fields and their relative weight. */
+    private static final Map<String, Float> SEARCH_FIELDS = Map.of(
+            FIRST_NAME, 3f,
+            LAST_NAME, 3f,
+            USER_NAME, 2f,
+            EMAIL_ADDRESS, 1.5f,
+            MOBILE_NUMBER, 1f,
+            ADDRESS, 1f);
+    private static final float EXACT_BOOST = 4f;
+    private static final float PREFIX_BOOST = 2f;
+    private static final float FUZZY_BOOST = 1f;
+    private static final int FUZZY_MIN_TERM_LENGTH = 4;
+    private static final int FUZZY_MAX_EXPANSIONS = 10;
+
+    /** Commit user-data key recording whether the index was closed cleanly. */
+    private static final String STATE = "state";
+    private static final String STATE_OPEN = "open";
+    private static final String STATE_CLEAN = "clean";
+    /** Commit user-data key holding the customer table's watermark when the index was closed cleanly. */
+    private static final String WATERMARK = "watermark";
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path indexDirectory;
+    private final Analyzer analyzer = textAnalyzer();
+    private final ExecutorService indexer =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("customer-search-indexer-"));
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private volatile String generation = UUID.randomUUID().toString();
+    private volatile boolean missedChanges;
+    /**
+     * Versions written since the searchers were last refreshed, which a search cannot see yet; the ones written
+     * before the refresh that is running move to {@link #refreshingVersions} until it completes.
+     */
+    private volatile Map<Long, Long> writtenVersions = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> refreshingVersions = Map.of();
+
+    public CustomerSearchIndex(CustomerRepository customerRepository, PlatformTransactionManager transactionManager,
+                               @Value("${customer.search.index-dir}") Path indexDirectory) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.indexDirectory = indexDirectory;
+    }
+
+    /**
+     * Opens the index, rebuilding it from the database unless the previous run closed it cleanly and the customer
+     * table has not changed since, and starts refreshing searchers in the background.
+     */
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        directory = FSDirectory.open(indexDirectory);
+        Map<String, String> userData = DirectoryReader.indexExists(directory)
+                ? SegmentInfos.readLatestCommit(directory).getUserData()
+                : Map.of();
+        boolean clean = STATE_CLEAN.equals(userData.get(STATE))
+                && watermark().equals(userData.get(WATERMARK));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        searcherManager.addListener(new ReferenceManager.RefreshListener() {
+            @Override
+            public void beforeRefresh() {
+                refreshingVersions = writtenVersions;
+                writtenVersions = new ConcurrentHashMap<>();
+            }
+
+            @Override
+            public void afterRefresh(boolean didRefresh) {
+                refreshingVersions = Map.of();
+            }
+        });
+        if (!clean) {
+            rebuildNow();
+        }
+        commit(Map.of(STATE, STATE_OPEN));
+
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                SEARCH_INDEX_MAX_STALE_SECONDS, SEARCH_INDEX_MIN_STALE_SECONDS);
+        reopenThread.setName("customer-search-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+    }
+
+    /**
+     * Runs a ranked full-text search.
+     *
+     * @param text free text; every term has to match
+     * @param page the zero-based page number
+     * @param size the page size; results beyond {@code MAX_SEARCH_RESULTS} are never returned
+     * @return one page of matching customers, best match first
+     */
+    public CustomerSearchResponse search(String text, int page, int size) {
+        Query query = toQuery(text);
+        if (query == null) {
+            return new CustomerSearchResponse(List.of(), 0, true, page, size);
+        }
+        int depth = (int) Math.min((long) (page + 1) * size, MAX_SEARCH_RESULTS);
+        int from = (int) Math.min((long) page * size, depth);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, depth);
+                StoredFields storedFields = searcher.storedFields();
+                List<CustomerResponse> customers = new ArrayList<>(Math.max(top.scoreDocs.length - from, 0));
+                for (int i = from; i < top.scoreDocs.length; i++) {
+                    customers.add(toCustomer(storedFields.document(top.scoreDocs[i].doc)));
+                }
+                return new CustomerSearchResponse(customers, top.totalHits.value,
+                        top.totalHits.relation == TotalHits.Relation.EQUAL_TO, page, size);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Re-indexes every customer from the database on the indexer thread.
+     *
+     * @return completes with the number of customers indexed
+     */
+    public CompletableFuture<Long> rebuild() {
+        return CompletableFuture.supplyAsync(this::rebuildNow, indexer);
+    }
+
+    /**
+     * Queues a committed customer change for indexing.
+     *
+     * @param event the change published by the customer service
+     */
+    @TransactionalEventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        CustomerResponse current = event.current();
+        if (current != null) {
+            try {
+                indexer.execute(() -> apply(current));
+            } catch (RejectedExecutionException e) {
+                // Committed during shutdown: the index must not be marked clean without it.
+                missedChanges = true;
+            }
+        }
+    }
+
+    /**
+     * Stops indexing and commits the index, marking it clean together with the customer table's watermark so the
+     * next start can reuse it if the table has not changed in between.
+     * <p>
+     * The watermark is read before the queued changes are drained: a change committed after the read only makes
+     * the next start rebuild, whereas reading it afterwards could record a change the index never received.
+     */
+    @Override
+    public void destroy() throws Exception {
+        String watermark = null;
+        try {
+            watermark = watermark();
+        } catch (RuntimeException e) {
+            // The database is already gone; the next start rebuilds.
+        }
+        reopenThread.close();
+        indexer.shutdown();
+        boolean drained = indexer.awaitTermination(30, TimeUnit.SECONDS);
+        if (drained && !missedChanges && watermark != null) {
+            commit(Map.of(STATE, STATE_CLEAN, WATERMARK, watermark));
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Upserts every customer under a new generation, then drops the documents of customers that no longer exist.
+     * Runs on the indexer thread (or during startup), so no event is applied while it reads the table.
+     */
+    private long rebuildNow() {
+        generation = UUID.randomUUID().toString();
+        Long indexed = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<CustomerResponse> customers = customerRepository.streamResponses()) {
+                Iterator<CustomerResponse> iterator = customers.iterator();
+                while (iterator.hasNext()) {
+                    write(iterator.next());
+                    count++;
+                }
+            }
+            return count;
+        });
+        try {
+            writer.deleteDocuments(new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(GENERATION, generation)), BooleanClause.Occur.MUST_NOT)
+                    .build());
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return indexed == null ? 0 : indexed;
+    }
+
+    /**
+     * Indexes a committed change unless the index already holds a newer version of the customer. Runs on the
+     * indexer thread, where a failure would otherwise go unnoticed.
+     */
+    private void apply(CustomerResponse customer) {
+        try {
+            Long indexed = indexedVersion(customer.getCustomerId());
+            if (indexed != null && customer.getVersion() != null && customer.getVersion() < indexed) {
+                return;
+            }
+            write(customer);
+            if (customer.getVersion() != null) {
+                writtenVersions.put(customer.getCustomerId(), customer.getVersion());
+            }
+        } catch (RuntimeException e) {
+            missedChanges = true;
+            log.error("Could not index customer {}; the index is rebuilt on the next start", customer.getCustomerId(), e);
+        }
+    }
+
+    private Long indexedVersion(Long customerId) {
+        Long version = writtenVersions.get(customerId);
+        if (version == null) {
+            version = refreshingVersions.get(customerId);
+        }
+        if (version != null) {
+            return version;
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(new TermQuery(new Term(CUSTOMER_ID, customerId.toString())), 1);
+                if (top.scoreDocs.length == 0) {
+                    return null;
+                }
+                IndexableField stored = searcher.storedFields().document(top.scoreDocs[0].doc, Set.of(VERSION))
+                        .getField(VERSION);
+                return stored == null ? null : stored.numericValue().longValue();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(CustomerResponse customer) {
+        String id = customer.getCustomerId().toString();
+        Document document = new Document();
+        document.add(new StringField(CUSTOMER_ID, id, Field.Store.YES));
+        document.add(new StringField(GENERATION, generation, Field.Store.NO));
+        addText(document, USER_NAME, customer.getUserName());
+        addText(document, FIRST_NAME, customer.getFirstName());
+        addText(document, LAST_NAME, customer.getLastName());
+        addText(document, EMAIL_ADDRESS, customer.getCustomerEmailAddress());
+        addText(document, MOBILE_NUMBER, customer.getCustomerMobileNumber());
+        addText(document, ADDRESS, customer.getCustomerAddress());
+        for (String field : SEARCH_FIELDS.keySet()) {
+            for (String value : document.getValues(field)) {
+                document.add(new TextField(ALL_TEXT, value, Field.Store.NO));
+            }
+        }
+        if (customer.getCustomerAge() != null) {
+            document.add(new StoredField(AGE, customer.getCustomerAge()));
+        }
+        addStored(document, STATUS, customer.getUserStatus());
+        addStored(document, CREATED_DATE, customer.getCreatedDate());
+        addStored(document, UPDATED_DATE, customer.getUpdatedDate());
+        if (customer.getVersion() != null) {
+            document.add(new StoredField(VERSION, customer.getVersion()));
+        }
+        try {
+            writer.updateDocument(new Term(CUSTOMER_ID, id), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commit(Map<String, String> userData) throws IOException {
+        writer.setLiveCommitData(userData.entrySet());
+        writer.commit();
+    }
+
+    private String watermark() {
+        CustomerTableWatermark watermark = transactionTemplate.execute(status -> customerRepository.findWatermark());
+        return watermark.rows() + ":" + watermark.maxCustomerId() + ":" + watermark.versionSum();
+    }
+
+    /**
+     * Builds one clause per query term: the best of an exact or prefix match on any searched field,
+     * or a fuzzy match anywhere.
+     */
+    private Query toQuery(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            List<Query> alternatives = new ArrayList<>();
+            SEARCH_FIELDS.forEach((field, weight) -> {
+                Term fieldTerm = new Term(field, term);
+                alternatives.add(new BoostQuery(new TermQuery(fieldTerm), weight * EXACT_BOOST));
+                alternatives.add(new BoostQuery(new PrefixQuery(fieldTerm), weight * PREFIX_BOOST));
+            });
+            if (term.length() >= FUZZY_MIN_TERM_LENGTH) {
+                alternatives.add(new BoostQuery(
+                        new FuzzyQuery(new Term(ALL_TEXT, term), 1, 1, FUZZY_MAX_EXPANSIONS, true), FUZZY_BOOST));
+            }
+            query.add(new DisjunctionMaxQuery(alternatives, 0.1f), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(FIRST_NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (terms.size() < MAX_SEARCH_TERMS && stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static CustomerResponse toCustomer(Document document) {
+        IndexableField age = document.getField(AGE);
+        IndexableField version = document.getField(VERSION);
+        String status = document.get(STATUS);
+        String createdDate = document.get(CREATED_DATE);
+        String updatedDate = document.get(UPDATED_DATE);
+        return CustomerResponse.builder()
+                .customerId(Long.valueOf(document.get(CUSTOMER_ID)))
+                .userName(document.get(USER_NAME))
+                .firstName(document.get(FIRST_NAME))
+                .lastName(document.get(LAST_NAME))
+                .customerAge(age == null ? null : age.numericValue().intValue())
+                .customerEmailAddress(document.get(EMAIL_ADDRESS))
+                .customerMobileNumber(document.get(MOBILE_NUMBER))
+                .customerAddress(document.get(ADDRESS))
+                .userStatus(status == null ? null : CustomerStatus.valueOf(status))
+                .createdDate(createdDate == null ? null : LocalDateTime.parse(createdDate))
+                .updatedDate(updatedDate == null ? null : LocalDateTime.parse(updatedDate))
+                .version(version == null ? null : version.numericValue().longValue())
+                .build();
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static void addStored(Document document, String field, Object value) {
+        if (value != null) {
+            document.add(new StoredField(field, value.toString()));
+        }
+    }
+
+    /**
+     * Splits on every character that is not a letter or digit, then lower-cases and folds accents.
+     */
+    private static Analyzer textAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = CharTokenizer.fromTokenCharPredicate(Character::isLetterOrDigit);
+                return new TokenStreamComponents(tokenizer, new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer)));
+            }
+
+            @Override
+            protected TokenStream normalize(String fieldName, TokenStream in) {
+                return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+            }
+        };
+    }
+}
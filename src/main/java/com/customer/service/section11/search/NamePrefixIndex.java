@@ -0,0 +1,226 @@
+package com.customer.service.section11.search;
+
+import com.customer.service.section11.response.NameSuggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Case-insensitive prefix index over one name field, kept as a sorted array of distinct names
+ * with a parallel array of how many customers carry each name.
+ * <p>
+ * Layout and concurrency:
+ * <ul>
+ *   <li>The sorted arrays are immutable. A prefix query is a binary search for the first candidate followed by
+ *       a scan of at most {@code limit} names, so it allocates only the result list.</li>
+ *   <li>Writes go to a small concurrent overlay of per-name count changes, merged into the scan in order.</li>
+ *   <li>Once the overlay exceeds {@code compactionThreshold} names it is folded into new arrays, which are
+ *       published together with an empty overlay, so readers never lock and never see a half-built state.</li>
+ * </ul>
+ * Names are compared with {@link String#CASE_INSENSITIVE_ORDER}; the first spelling seen is the one returned.
+ */
+public class NamePrefixIndex {
+
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER;
+
+    private final int compactionThreshold;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new int[0]);
+
+    public NamePrefixIndex(int compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Replaces the whole index with the given names.
+     *
+     * @param names every name occurrence; {@code null} and blank names are ignored
+     */
+    public void load(Iterable<String> names) {
+        Loader loader = loader();
+        names.forEach(loader::add);
+        loader.publish();
+    }
+
+    /**
+     * Starts replacing the whole index with names fed one by one, for example from a database cursor. Only the
+     * distinct names and their counts are kept while loading; the index is replaced on {@link Loader#publish()}.
+     *
+     * @return a loader for this index
+     */
+    public Loader loader() {
+        return new Loader();
+    }
+
+    /**
+     * Records one more customer carrying the given name.
+     */
+    public void add(String name) {
+        change(name, 1);
+    }
+
+    /**
+     * Records one customer less carrying the given name.
+     */
+    public void remove(String name) {
+        change(name, -1);
+    }
+
+    /**
+     * Returns the first names, in case-insensitive alphabetical order, that start with the given prefix.
+     *
+     * @param prefix the typed prefix, matched case-insensitively
+     * @param limit  the maximum number of suggestions
+     * @return at most {@code limit} suggestions with their customer counts
+     */
+    public List<NameSuggestion> search(String prefix, int limit) {
+        Snapshot current = snapshot;
+        List<NameSuggestion> suggestions = new ArrayList<>(Math.min(limit, 16));
+        String[] names = current.names;
+        int i = lowerBound(names, prefix);
+        Iterator<Map.Entry<String, Integer>> deltas = current.overlay.tailMap(prefix, true).entrySet().iterator();
+        Map.Entry<String, Integer> delta = nextMatch(deltas, prefix);
+
+        while (suggestions.size() < limit) {
+            String name = i < names.length && startsWith(names[i], prefix) ? names[i] : null;
+            if (name == null && delta == null) {
+                break;
+            }
+            int cmp = name == null ? 1 : delta == null ? -1 : ORDER.compare(name, delta.getKey());
+            int count;
+            if (cmp < 0) {
+                count = current.counts[i++];
+            } else if (cmp > 0) {
+                name = delta.getKey();
+                count = delta.getValue();
+                delta = nextMatch(deltas, prefix);
+            } else {
+                count = current.counts[i++] + delta.getValue();
+                delta = nextMatch(deltas, prefix);
+            }
+            if (count > 0) {
+                suggestions.add(new NameSuggestion(name, count));
+            }
+        }
+        return suggestions;
+    }
+
+    private void change(String name, int delta) {
+        if (!isIndexable(name)) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            current.overlay.merge(name, delta, (a, b) -> a + b == 0 ? null : a + b);
+            if (current.overlay.size() > compactionThreshold) {
+                snapshot = compact(current);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Snapshot compact(Snapshot current) {
+        Map<String, Integer> counts = new TreeMap<>(ORDER);
+        for (int i = 0; i < current.names.length; i++) {
+            counts.put(current.names[i], current.counts[i]);
+        }
+        current.overlay.forEach((name, delta) -> counts.merge(name, delta, Integer::sum));
+        return toSnapshot(counts);
+    }
+
+    private static Snapshot toSnapshot(Map<String, Integer> counts) {
+        String[] names = new String[counts.size()];
+        int[] values = new int[counts.size()];
+        int size = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > 0) {
+                names[size] = entry.getKey();
+                values[size++] = entry.getValue();
+            }
+        }
+        return new Snapshot(Arrays.copyOf(names, size), Arrays.copyOf(values, size));
+    }
+
+    private static int lowerBound(String[] names, String prefix) {
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(names[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Map.Entry<String, Integer> nextMatch(Iterator<Map.Entry<String, Integer>> deltas, String prefix) {
+        if (deltas.hasNext()) {
+            Map.Entry<String, Integer> entry = deltas.next();
+            if (startsWith(entry.getKey(), prefix)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static boolean startsWith(String name, String prefix) {
+        return name.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private static boolean isIndexable(String name) {
+        return name != null && !name.isBlank();
+    }
+
+    /**
+     * Counts name occurrences for a full reload of the index. Not thread-safe; feed it from one thread.
+     */
+    public class Loader {
+
+        private final Map<String, Integer> counts = new TreeMap<>(ORDER);
+
+        private Loader() {
+        }
+
+        /**
+         * Counts one name occurrence; {@code null} and blank names are ignored.
+         */
+        public void add(String name) {
+            if (isIndexable(name)) {
+                counts.merge(name, 1, Integer::sum);
+            }
+        }
+
+        /**
+         * Replaces the index with the names counted so far.
+         */
+        public void publish() {
+            writeLock.lock();
+            try {
+                snapshot = toSnapshot(counts);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Immutable sorted arrays plus the overlay of changes made since they were built.
+     */
+    private record Snapshot(String[] names, int[] counts, ConcurrentSkipListMap<String, Integer> overlay) {
+
+        private Snapshot(String[] names, int[] counts) {
+            this(names, counts, new ConcurrentSkipListMap<>(ORDER));
+        }
+    }
+}
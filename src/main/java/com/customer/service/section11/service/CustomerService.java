@@ -1,10 +1,24 @@
 package com.customer.service.section11.service;
 
 import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.enums.NameField;
+import com.customer.service.section11.exceptions.InvalidRequestException;
+import com.customer.service.section11.request.CustomerFilterRequest;
 import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerBatchResult;
+import com.customer.service.section11.response.CustomerChangesResponse;
+import com.customer.service.section11.response.CustomerFilterResponse;
 import com.customer.service.section11.response.CustomerResponse;
-
+import com.customer.service.section11.response.CustomerSearchResponse;
+import com.customer.service.section11.response.CustomerSliceResponse;
+import com.customer.service.section11.response.CustomerStatusBulkResponse;
+import com.customer.service.section11.response.NameSuggestion;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * CustomerService defines the contract for all customer-related operations.
@@ -24,6 +38,16 @@ public interface CustomerService {
      */
     CustomerResponse createCustomer(CustomerRequest request);
 
+    /**
+     * Creates many customers at once.
+     * Rows whose username, email or mobile number is already taken (in the database or by an
+     * earlier row of the same batch) are skipped and reported as duplicates.
+     *
+     * @param requests the customer details, in request order.
+     * @return one {@link CustomerBatchResult} per request row, in the same order.
+     */
+    List<CustomerBatchResult> createCustomers(List<CustomerRequest> requests);
+
     /**
      * Retrieves all customers from the system.
      *
@@ -31,6 +55,77 @@ public interface CustomerService {
      */
     List<CustomerResponse> getAllCustomersData();
 
+    /**
+     * Retrieves the next slice of customers using keyset pagination on {@code customerId}.
+     *
+     * @param afterId the last customerId already seen by the client, or {@code null} to start from the beginning.
+     * @param limit   the maximum number of customers to return.
+     * @return the slice of customers together with the cursor for the next slice.
+     */
+    CustomerSliceResponse getCustomersAfter(Long afterId, int limit);
+
+    /**
+     * Retrieves the next slice of committed customer changes from the outbox, for incremental consumers that
+     * would otherwise re-read the whole table.
+     *
+     * @param afterSequence the last sequence already seen by the client, or {@code null} to start from the oldest kept change.
+     * @param limit         the maximum number of changes to return.
+     * @return the slice of changes together with the cursor for the next slice.
+     */
+    CustomerChangesResponse getChangesAfter(Long afterSequence, int limit);
+
+    /**
+     * Retrieves one page of the customers matching every given filter.
+     *
+     * @param filter   name, status, age range and created/updated date range; unset filters are ignored.
+     * @param pageable the page number, page size and an optional sort on a single property.
+     * @return the customers on the page and whether more follow.
+     */
+    CustomerFilterResponse filterCustomers(CustomerFilterRequest filter, Pageable pageable);
+
+    /**
+     * Suggests customer names starting with the given prefix, for type-ahead search.
+     *
+     * @param field  the name field to search.
+     * @param prefix the typed prefix, matched case-insensitively.
+     * @param limit  the maximum number of suggestions.
+     * @return the matching names in alphabetical order, each with the number of customers carrying it.
+     */
+    List<NameSuggestion> suggestNames(NameField field, String prefix, int limit);
+
+    /**
+     * Runs a ranked full-text search over names, username, email address, mobile number and address.
+     *
+     * @param query free text; fragments and small typos are matched.
+     * @param page  the zero-based page number.
+     * @param size  the page size.
+     * @return one page of matching customers, best match first.
+     */
+    CustomerSearchResponse searchCustomers(String query, int page, int size);
+
+    /**
+     * Rebuilds the full-text search index from the database.
+     *
+     * @return completes with the number of customers indexed.
+     */
+    CompletableFuture<Long> rebuildSearchIndex();
+
+    /**
+     * Rebuilds the in-memory key filters used by the uniqueness checks from the database.
+     *
+     * @return completes with the number of customers loaded.
+     */
+    CompletableFuture<Long> rebuildKeyFilter();
+
+    /**
+     * Writes every customer to the given stream as newline-delimited JSON while reading them,
+     * without building the whole list in memory.
+     *
+     * @param outputStream the stream to write to; it is flushed but not closed.
+     * @throws IOException if writing to the stream fails.
+     */
+    void exportAllCustomers(OutputStream outputStream) throws IOException;
+
     /**
      * Retrieves a customer by their mobile number.
      *
@@ -91,6 +186,16 @@ public interface CustomerService {
      */
     CustomerResponse updateStatusByMobile(String mobileNumber, CustomerStatus status);
 
+    /**
+     * Updates the status of many customers at once, identified by their mobile numbers.
+     *
+     * @param mobileNumbers the mobile numbers of the customers to update.
+     * @param status        the new {@link CustomerStatus} to be assigned.
+     * @return the number of customers changed and the mobile numbers that were not found.
+     * @throws InvalidRequestException if the list or the status is missing, or the list contains {@code null}.
+     */
+    CustomerStatusBulkResponse updateStatusInBulk(List<String> mobileNumbers, CustomerStatus status);
+
     /**
      * Fetches distinct customers that match the provided lastName and firstName.
      * Ensures duplicate records are not returned.
@@ -0,0 +1,74 @@
+package com.customer.service.section11.service;
+
+import com.customer.service.section11.response.CustomerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveCustomerService defines the non-blocking read operations of the reactive API.
+ * <p>
+ * It mirrors the lookup and name-search methods of {@link CustomerService} with the same
+ * results and lookup error messages (name searches return an empty stream instead of failing), but returns {@link Mono}/{@link Flux} backed by R2DBC so that
+ * no request thread is blocked while the database answers.
+ */
+public interface ReactiveCustomerService {
+
+    /**
+     * Retrieves a customer by mobile number.
+     *
+     * @param mobileNumber the customer's mobile number.
+     * @return the customer, or an error with {@code CustomerNotExistsException} if none exists.
+     */
+    Mono<CustomerResponse> getByCustomerMobileNumber(String mobileNumber);
+
+    /**
+     * Retrieves a customer by username.
+     *
+     * @param userName the customer's username.
+     * @return the customer, or an error with {@code CustomerNotExistsException} if none exists.
+     */
+    Mono<CustomerResponse> getByCustomerName(String userName);
+
+    /**
+     * Retrieves a customer by email address.
+     *
+     * @param emailAddress the customer's email address.
+     * @return the customer, or an error with {@code CustomerNotExistsException} if none exists.
+     */
+    Mono<CustomerResponse> getByEmailAddress(String emailAddress);
+
+    /**
+     * Streams distinct customers matching both lastName AND firstName.
+     *
+     * @param lastName  the last name of the customer.
+     * @param firstName the first name of the customer.
+     * @return the matching customers; empty if none match.
+     */
+    Flux<CustomerResponse> getDistinctByLastNameAndFirstName(String lastName, String firstName);
+
+    /**
+     * Streams customers matching both lastName AND firstName.
+     *
+     * @param lastName  the last name of the customer.
+     * @param firstName the first name of the customer.
+     * @return the matching customers; empty if none match.
+     */
+    Flux<CustomerResponse> getByLastNameAndFirstName(String lastName, String firstName);
+
+    /**
+     * Streams customers matching either lastName OR firstName.
+     *
+     * @param lastName  the last name of the customer.
+     * @param firstName the first name of the customer.
+     * @return the matching customers; empty if none match.
+     */
+    Flux<CustomerResponse> getByLastNameOrFirstName(String lastName, String firstName);
+
+    /**
+     * Streams customers matching the firstName.
+     *
+     * @param firstName the first name of the customer.
+     * @return the matching customers; empty if none match.
+     */
+    Flux<CustomerResponse> getByFirstName(String firstName);
+}
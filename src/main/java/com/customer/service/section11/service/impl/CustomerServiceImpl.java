@@ -1,24 +1,82 @@
 package com.customer.service.section11.service.impl;
 
+import com.customer.service.section11.bloom.CustomerKeyFilter;
+import com.customer.service.section11.cache.CustomerResponseCache;
 import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.enums.CustomerBatchStatus;
 import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.enums.NameField;
+import com.customer.service.section11.event.CustomerChangedEvent;
 import com.customer.service.section11.exceptions.CustomerAlreadyExistsException;
 import com.customer.service.section11.exceptions.CustomerNotExistsException;
+import com.customer.service.section11.exceptions.InvalidRequestException;
 import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.projection.CustomerKeyConflict;
+import com.customer.service.section11.projection.CustomerKeys;
+import com.customer.service.section11.outbox.CustomerOutboxEvent;
+import com.customer.service.section11.repository.CustomerBatchRepository;
+import com.customer.service.section11.repository.CustomerFilterRepository;
+import com.customer.service.section11.repository.CustomerOutboxRepository;
 import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerFilterRequest;
 import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerBatchResult;
+import com.customer.service.section11.response.CustomerChangesResponse;
+import com.customer.service.section11.response.CustomerFilterResponse;
 import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.response.CustomerSearchResponse;
+import com.customer.service.section11.response.CustomerSliceResponse;
+import com.customer.service.section11.response.CustomerStatusBulkResponse;
+import com.customer.service.section11.response.NameSuggestion;
+import com.customer.service.section11.retry.RetryOnConflict;
+import com.customer.service.section11.search.CustomerNameIndex;
+import com.customer.service.section11.search.CustomerSearchIndex;
 import com.customer.service.section11.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.customer.service.section11.constant.CustomerConstant.BATCH_CHUNK_SIZE;
+import static com.customer.service.section11.constant.CustomerConstant.BULK_MOBILE_NUMBERS_REQUIRED;
+import static com.customer.service.section11.constant.CustomerConstant.BULK_STATUS_REQUIRED;
 import static com.customer.service.section11.constant.CustomerConstant.CUSTOMER_ALREADY_EXISTS;
 import static com.customer.service.section11.constant.CustomerConstant.CUSTOMER_NOT_EXISTS;
+import static com.customer.service.section11.constant.CustomerConstant.DEFAULT_PAGE_LIMIT;
+import static com.customer.service.section11.constant.CustomerConstant.DEFAULT_SEARCH_PAGE_SIZE;
+import static com.customer.service.section11.constant.CustomerConstant.DEFAULT_SUGGESTION_LIMIT;
+import static com.customer.service.section11.constant.CustomerConstant.EXPORT_FLUSH_INTERVAL;
+import static com.customer.service.section11.constant.CustomerConstant.MAX_PAGE_LIMIT;
+import static com.customer.service.section11.constant.CustomerConstant.MAX_SEARCH_RESULTS;
+import static com.customer.service.section11.constant.CustomerConstant.MAX_SUGGESTION_LIMIT;
+import static com.customer.service.section11.enums.CustomerKeyField.EMAIL_ADDRESS;
+import static com.customer.service.section11.enums.CustomerKeyField.MOBILE_NUMBER;
+import static com.customer.service.section11.enums.CustomerKeyField.USER_NAME;
 
 /**
  * Implementation of {@link CustomerService} that contains
@@ -29,21 +87,74 @@ import static com.customer.service.section11.constant.CustomerConstant.CUSTOMER_
  *   <li>Performs validations before persisting/updating customer data.</li>
  *   <li>Handles duplicate checks for username, email, and mobile number.</li>
  *   <li>Uses soft deletion by changing {@link CustomerStatus} instead of deleting records.</li>
+ *   <li>Serves point lookups through {@link CustomerResponseCache} and evicts it on every write.</li>
+ *   <li>Publishes a {@link CustomerChangedEvent} for every customer it creates or changes, which keeps the
+ *       in-memory search indexes current once the transaction commits and is recorded in the outbox
+ *       within the transaction (see {@code CustomerOutboxWriter}).</li>
  * </ul>
  * <p>
  * All database interactions are handled through {@link CustomerRepository}.
+ * <p>
+ * Every method is one transaction. Reads are read-only, so Hibernate keeps no dirty-check snapshots
+ * and never flushes. Writes change the managed entity and rely on dirty checking; with
+ * {@code @DynamicUpdate} on {@link CustomerModel} only the changed columns are written. They flush
+ * before building the response so it carries the generated {@code updatedDate}.
+ * <p>
+ * Updates of a single customer are optimistically locked on {@code CustomerModel.version} and marked
+ * {@link RetryOnConflict}: a write that loses a race with a concurrent one is rolled back and run again
+ * on the current row, instead of silently overwriting it.
+ * <p>
+ * Lookups and searches are read-only even where they only join an existing transaction ({@code SUPPORTS}),
+ * so with read replicas configured they are served by a replica (see {@code DataSourceConfig}).
+ * <p>
+ * Every method is timed as {@code customer.service}, including its transaction (see {@code MetricsConfig}).
  */
 @Service
+@Timed(value = "customer.service", description = "Time spent in CustomerService methods, including the transaction")
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class CustomerServiceImpl implements CustomerService {
 
     /** Repository for accessing and modifying customer data. */
     private final CustomerRepository customerRepository;
 
+    /** JDBC batch inserts for bulk customer creation. */
+    private final CustomerBatchRepository customerBatchRepository;
+
+    /** Runs the multi-filter search behind {@link #filterCustomers}. */
+    private final CustomerFilterRepository customerFilterRepository;
+
+    /** Change feed read by {@link #getChangesAfter}; written by {@code CustomerOutboxWriter}. */
+    private final CustomerOutboxRepository customerOutboxRepository;
+
+    /** Used to detach exported entities so the persistence context does not grow with the table. */
+    private final EntityManager entityManager;
+
+    /** Serializes exported customers with the same settings as the REST responses. */
+    private final ObjectMapper objectMapper;
+
+    /** Read-through cache for the mobile, username and email lookups. */
+    private final CustomerResponseCache customerResponseCache;
+
+    /** Publishes a {@link CustomerChangedEvent} for every customer created or changed. */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** In-memory Bloom filters that let the uniqueness checks skip keys no customer has. */
+    private final CustomerKeyFilter customerKeyFilter;
+
+    /** In-memory type-ahead index over first and last names. */
+    private final CustomerNameIndex customerNameIndex;
+
+    /** Embedded full-text index over names, contact details and address. */
+    private final CustomerSearchIndex customerSearchIndex;
+
     /**
      * Creates a new customer.
      * <ul>
-     *   <li>Validates uniqueness of username, email, and mobile number.</li>
+     *   <li>Validates uniqueness of username, email, and mobile number with a single query, skipped when
+     *       {@link CustomerKeyFilter} knows that none of the three is taken.</li>
+     *   <li>A concurrent insert that slips past the check is rejected by the unique constraints
+     *       and reported as a conflict by the global exception handler.</li>
      *   <li>Sets default status to {@code ACTIVE}.</li>
      *   <li>Sets creation and update timestamps.</li>
      * </ul>
@@ -53,16 +164,30 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws CustomerAlreadyExistsException if duplicate fields are found.
      */
     @Override
+    @Transactional
     public CustomerResponse createCustomer(CustomerRequest request) {
+        boolean userNameMaybeTaken = customerKeyFilter.mightContain(USER_NAME, request.getUserName());
+        boolean emailAddressMaybeTaken = customerKeyFilter.mightContain(EMAIL_ADDRESS, request.getCustomerEmailAddress());
+        boolean mobileNumberMaybeTaken = customerKeyFilter.mightContain(MOBILE_NUMBER, request.getCustomerMobileNumber());
         List<String> duplicates = new ArrayList<>();
-        if (customerRepository.existsByUserName(request.getUserName())) {
-            duplicates.add("userName");
-        }
-        if (customerRepository.existsByCustomerEmailAddress(request.getCustomerEmailAddress())) {
-            duplicates.add("emailAddress");
-        }
-        if (customerRepository.existsByCustomerMobileNumber(request.getCustomerMobileNumber())) {
-            duplicates.add("mobileNumber");
+        if (userNameMaybeTaken || emailAddressMaybeTaken || mobileNumberMaybeTaken) {
+            CustomerKeyConflict conflict = customerRepository.findKeyConflicts(
+                    request.getUserName(), request.getCustomerEmailAddress(), request.getCustomerMobileNumber());
+            if (conflict.userNameTaken()) {
+                duplicates.add("userName");
+            } else if (userNameMaybeTaken) {
+                customerKeyFilter.recordFalsePositive(USER_NAME);
+            }
+            if (conflict.emailAddressTaken()) {
+                duplicates.add("emailAddress");
+            } else if (emailAddressMaybeTaken) {
+                customerKeyFilter.recordFalsePositive(EMAIL_ADDRESS);
+            }
+            if (conflict.mobileNumberTaken()) {
+                duplicates.add("mobileNumber");
+            } else if (mobileNumberMaybeTaken) {
+                customerKeyFilter.recordFalsePositive(MOBILE_NUMBER);
+            }
         }
 
         if (!duplicates.isEmpty()) {
@@ -74,8 +199,102 @@ public class CustomerServiceImpl implements CustomerService {
         model.setCreatedDate(LocalDateTime.now());
         model.setUpdatedDate(LocalDateTime.now());
 
-        CustomerModel saved = customerRepository.saveAndFlush(model);
-        return CustomerMapper.toCustomerResponse(saved);
+        CustomerModel saved = customerRepository.save(model);
+        CustomerResponse created = CustomerMapper.toCustomerResponse(saved);
+        eventPublisher.publishEvent(new CustomerChangedEvent(null, created));
+        return created;
+    }
+
+    /**
+     * Creates many customers in one transaction.
+     * <ul>
+     *   <li>Checks the whole batch for existing keys with one set-based query per {@code BATCH_CHUNK_SIZE} rows.
+     *       {@link CustomerKeyFilter} is not consulted here: a key it misses (written by another instance since its
+     *       last rebuild) would reach the unique constraints and roll back the whole batch instead of being reported
+     *       as one {@code DUPLICATE} row.</li>
+     *   <li>Skips rows that collide with an existing customer or with an earlier row of the batch. Keys are
+     *       compared case-insensitively and missing ({@code null}) keys never collide, as in the unique constraints.</li>
+     *   <li>Inserts the remaining rows with JDBC batches instead of one Hibernate INSERT and flush per customer.</li>
+     * </ul>
+     *
+     * @param requests The customer creation payloads.
+     * @return The per-row results, in request order.
+     */
+    @Override
+    @Transactional
+    public List<CustomerBatchResult> createCustomers(List<CustomerRequest> requests) {
+        Set<String> takenUserNames = new HashSet<>();
+        Set<String> takenEmailAddresses = new HashSet<>();
+        Set<String> takenMobileNumbers = new HashSet<>();
+        for (int from = 0; from < requests.size(); from += BATCH_CHUNK_SIZE) {
+            List<CustomerRequest> chunk = requests.subList(from, Math.min(from + BATCH_CHUNK_SIZE, requests.size()));
+            List<CustomerKeys> existing = customerRepository.findKeysMatchingAny(
+                    keysOf(chunk, CustomerRequest::getUserName),
+                    keysOf(chunk, CustomerRequest::getCustomerEmailAddress),
+                    keysOf(chunk, CustomerRequest::getCustomerMobileNumber));
+            for (CustomerKeys keys : existing) {
+                addKey(takenUserNames, keys.userName());
+                addKey(takenEmailAddresses, keys.customerEmailAddress());
+                addKey(takenMobileNumbers, keys.customerMobileNumber());
+            }
+        }
+
+        CustomerBatchResult[] results = new CustomerBatchResult[requests.size()];
+        List<CustomerModel> models = new ArrayList<>();
+        List<Integer> modelIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CustomerRequest request = requests.get(i);
+            List<String> duplicates = new ArrayList<>();
+            if (containsKey(takenUserNames, request.getUserName())) {
+                duplicates.add("userName");
+            }
+            if (containsKey(takenEmailAddresses, request.getCustomerEmailAddress())) {
+                duplicates.add("emailAddress");
+            }
+            if (containsKey(takenMobileNumbers, request.getCustomerMobileNumber())) {
+                duplicates.add("mobileNumber");
+            }
+
+            if (!duplicates.isEmpty()) {
+                String message = "Duplicate fields: " + String.join(", ", duplicates) + " _ " + CUSTOMER_ALREADY_EXISTS;
+                results[i] = new CustomerBatchResult(i, request.getUserName(), request.getCustomerMobileNumber(),
+                        CustomerBatchStatus.DUPLICATE, null, message);
+                continue;
+            }
+            addKey(takenUserNames, request.getUserName());
+            addKey(takenEmailAddresses, request.getCustomerEmailAddress());
+            addKey(takenMobileNumbers, request.getCustomerMobileNumber());
+            models.add(CustomerMapper.toCustomerModel(request));
+            modelIndexes.add(i);
+        }
+
+        customerBatchRepository.insertAll(models);
+        for (int m = 0; m < models.size(); m++) {
+            CustomerModel saved = models.get(m);
+            int i = modelIndexes.get(m);
+            results[i] = new CustomerBatchResult(i, saved.getUserName(), saved.getCustomerMobileNumber(),
+                    CustomerBatchStatus.CREATED, saved.getCustomerId(), null);
+            eventPublisher.publishEvent(new CustomerChangedEvent(null, CustomerMapper.toCustomerResponse(saved)));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Records a unique key as taken. Keys are compared lower-cased, like the case-insensitive collation of the unique
+     * columns; {@code null} is never taken because the unique constraints allow any number of NULLs.
+     */
+    private static void addKey(Set<String> taken, String key) {
+        if (key != null) {
+            taken.add(key.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static boolean containsKey(Set<String> taken, String key) {
+        return key != null && taken.contains(key.toLowerCase(Locale.ROOT));
+    }
+
+    private static List<String> keysOf(List<CustomerRequest> requests, Function<CustomerRequest, String> key) {
+        return requests.stream().map(key).filter(Objects::nonNull).distinct().toList();
     }
 
     /**
@@ -91,6 +310,104 @@ public class CustomerServiceImpl implements CustomerService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves the next slice of customers after the given cursor.
+     * <ul>
+     *   <li>A {@code null} cursor starts from the first customer.</li>
+     *   <li>The limit falls back to {@code DEFAULT_PAGE_LIMIT} when not positive and is capped at {@code MAX_PAGE_LIMIT}.</li>
+     * </ul>
+     *
+     * @param afterId the last customerId already seen by the client.
+     * @param limit   the maximum number of customers to return.
+     * @return A {@link CustomerSliceResponse} with the customers and the next cursor.
+     */
+    @Override
+    public CustomerSliceResponse getCustomersAfter(Long afterId, int limit) {
+        long cursor = afterId == null ? 0L : afterId;
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_LIMIT : Math.min(limit, MAX_PAGE_LIMIT);
+
+        Slice<CustomerModel> slice = customerRepository
+                .findByCustomerIdGreaterThanOrderByCustomerIdAsc(cursor, PageRequest.of(0, pageSize));
+        List<CustomerResponse> customers = slice.map(CustomerMapper::toCustomerResponse).getContent();
+        Long nextCursor = slice.hasNext() ? customers.get(customers.size() - 1).getCustomerId() : null;
+        return new CustomerSliceResponse(customers, slice.hasNext(), nextCursor);
+    }
+
+    /**
+     * Retrieves the next slice of customer changes after the given cursor.
+     * <ul>
+     *   <li>A {@code null} cursor starts from the oldest change still kept in the outbox.</li>
+     *   <li>The limit falls back to {@code DEFAULT_PAGE_LIMIT} when not positive and is capped at {@code MAX_PAGE_LIMIT}.</li>
+     *   <li>Changes are read in {@code delivery_seq} order, which the outbox poller assigns once they are committed,
+     *       so a cursor never skips a change that a slower transaction commits later.</li>
+     * </ul>
+     *
+     * @param afterSequence the last sequence already seen by the client.
+     * @param limit         the maximum number of changes to return.
+     * @return A {@link CustomerChangesResponse} with the changes and the next cursor.
+     */
+    @Override
+    public CustomerChangesResponse getChangesAfter(Long afterSequence, int limit) {
+        long cursor = afterSequence == null ? 0L : afterSequence;
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_LIMIT : Math.min(limit, MAX_PAGE_LIMIT);
+
+        List<CustomerOutboxEvent> events = customerOutboxRepository.findAfter(cursor, pageSize);
+        long nextCursor = events.isEmpty() ? cursor : events.get(events.size() - 1).sequence();
+        return new CustomerChangesResponse(events, events.size() == pageSize, nextCursor);
+    }
+
+    /**
+     * Retrieves one page of the customers matching every given filter.
+     * <ul>
+     *   <li>The page size is capped at {@code MAX_PAGE_LIMIT}.</li>
+     *   <li>Sorting is on one property at most, ties broken by {@code customerId}; unsorted pages follow
+     *       {@code customerId}.</li>
+     *   <li>Returns a slice: one extra row tells whether a next page exists, no COUNT(*) is run.</li>
+     *   <li>Pages starting beyond row {@code Integer.MAX_VALUE} are rejected with {@link InvalidRequestException}.</li>
+     * </ul>
+     *
+     * @param filter   the filters; unset ones are ignored.
+     * @param pageable the page number, page size and optional sort.
+     * @return A {@link CustomerFilterResponse} with the customers on the page.
+     */
+    @Override
+    public CustomerFilterResponse filterCustomers(CustomerFilterRequest filter, Pageable pageable) {
+        int pageSize = Math.min(pageable.getPageSize(), MAX_PAGE_LIMIT);
+        Slice<CustomerResponse> slice = customerFilterRepository.findSlice(filter,
+                PageRequest.of(pageable.getPageNumber(), pageSize, pageable.getSort()));
+        return new CustomerFilterResponse(slice.getContent(), slice.hasNext(), slice.getNumber(), slice.getSize());
+    }
+
+    /**
+     * Streams all customers as newline-delimited JSON.
+     * <ul>
+     *   <li>Rows are read through a database cursor inside one read-only transaction.</li>
+     *   <li>Each entity is detached right after it is written, so heap use stays flat regardless of table size.</li>
+     *   <li>The output is flushed every {@code EXPORT_FLUSH_INTERVAL} rows so the client receives data progressively.</li>
+     * </ul>
+     *
+     * @param outputStream the stream to write to.
+     * @throws IOException if writing to the stream fails.
+     */
+    @Override
+    public void exportAllCustomers(OutputStream outputStream) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream);
+        try (Stream<CustomerModel> customers = customerRepository.streamAll()) {
+            Iterator<CustomerModel> iterator = customers.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                CustomerModel model = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(CustomerMapper.toCustomerResponse(model)));
+                out.write('\n');
+                entityManager.detach(model);
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+    }
+
     /**
      * Retrieves a customer by mobile number.
      *
@@ -99,10 +416,11 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws CustomerNotExistsException if the customer does not exist.
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CustomerResponse getByCustomerMobileNumber(String mobileNumber) {
-        CustomerModel model = customerRepository.findByCustomerMobileNumber(mobileNumber)
-                .orElseThrow(() -> new CustomerNotExistsException(mobileNumber + " " + CUSTOMER_NOT_EXISTS));
-        return CustomerMapper.toCustomerResponse(model);
+        return customerResponseCache.getByMobile(mobileNumber, () -> customerRepository
+                .findResponseByCustomerMobileNumber(mobileNumber)
+                .orElseThrow(() -> new CustomerNotExistsException(mobileNumber + " " + CUSTOMER_NOT_EXISTS)));
     }
 
     /**
@@ -113,10 +431,11 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws CustomerNotExistsException if the customer does not exist.
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CustomerResponse getByCustomerName(String CustomerName) {
-        CustomerModel model = customerRepository.findByUserName(CustomerName)
-                .orElseThrow(() -> new CustomerNotExistsException(CustomerName + " " + CUSTOMER_NOT_EXISTS));
-        return CustomerMapper.toCustomerResponse(model);
+        return customerResponseCache.getByUserName(CustomerName, () -> customerRepository
+                .findResponseByUserName(CustomerName)
+                .orElseThrow(() -> new CustomerNotExistsException(CustomerName + " " + CUSTOMER_NOT_EXISTS)));
     }
 
     /**
@@ -127,24 +446,32 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws CustomerNotExistsException if the customer does not exist.
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CustomerResponse getByEmailAddress(String emailAddress) {
-        CustomerModel model = customerRepository.findByCustomerEmailAddress(emailAddress)
-                .orElseThrow(() -> new CustomerNotExistsException(emailAddress + " " + CUSTOMER_NOT_EXISTS));
-        return CustomerMapper.toCustomerResponse(model);
+        return customerResponseCache.getByEmail(emailAddress, () -> customerRepository
+                .findResponseByCustomerEmailAddress(emailAddress)
+                .orElseThrow(() -> new CustomerNotExistsException(emailAddress + " " + CUSTOMER_NOT_EXISTS)));
     }
 
     /**
      * Updates a customer's details using their mobile number.
      * <p>Note: Mobile number and status are not updated here.</p>
+     * <p>A request that changes nothing writes nothing and publishes no {@link CustomerChangedEvent}.</p>
      *
      * @param request The updated customer details.
      * @return The updated customer as a {@link CustomerResponse}.
      * @throws CustomerNotExistsException if the customer does not exist.
      */
     @Override
+    @Transactional
+    @RetryOnConflict
     public CustomerResponse updateCustomer(CustomerRequest request) {
         CustomerModel model = customerRepository.findByCustomerMobileNumber(request.getCustomerMobileNumber())
                 .orElseThrow(() -> new CustomerNotExistsException(request.getCustomerMobileNumber() + " " + CUSTOMER_NOT_EXISTS));
+        CustomerResponse previous = CustomerMapper.toCustomerResponse(model);
+        if (isUnchanged(model, request)) {
+            return previous;
+        }
 
         model.setUserName(request.getUserName());
         model.setFirstName(request.getFirstName());
@@ -152,9 +479,21 @@ public class CustomerServiceImpl implements CustomerService {
         model.setCustomerAge(request.getCustomerAge());
         model.setCustomerAddress(request.getCustomerAddress());
         model.setCustomerEmailAddress(request.getCustomerEmailAddress());
-        model.setUpdatedDate(LocalDateTime.now());
 
-        return CustomerMapper.toCustomerResponse(customerRepository.saveAndFlush(model));
+        customerRepository.flush();
+        CustomerResponse updated = CustomerMapper.toCustomerResponse(model);
+        customerResponseCache.evict(previous);
+        eventPublisher.publishEvent(new CustomerChangedEvent(previous, updated));
+        return updated;
+    }
+
+    private static boolean isUnchanged(CustomerModel model, CustomerRequest request) {
+        return Objects.equals(model.getUserName(), request.getUserName())
+                && Objects.equals(model.getFirstName(), request.getFirstName())
+                && Objects.equals(model.getLastName(), request.getLastName())
+                && Objects.equals(model.getCustomerAge(), request.getCustomerAge())
+                && Objects.equals(model.getCustomerAddress(), request.getCustomerAddress())
+                && Objects.equals(model.getCustomerEmailAddress(), request.getCustomerEmailAddress());
     }
 
     /**
@@ -165,14 +504,20 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws CustomerNotExistsException if the customer does not exist.
      */
     @Override
+    @Transactional
+    @RetryOnConflict
     public CustomerResponse deleteCustomer(String mobile) {
         CustomerModel model = customerRepository.findByCustomerMobileNumber(mobile)
                 .orElseThrow(() -> new CustomerNotExistsException(mobile + " " + CUSTOMER_NOT_EXISTS));
+        CustomerResponse previous = CustomerMapper.toCustomerResponse(model);
 
         model.setUserStatus(CustomerStatus.INACTIVE);
-        model.setUpdatedDate(LocalDateTime.now());
 
-        return CustomerMapper.toCustomerResponse(customerRepository.saveAndFlush(model));
+        customerRepository.flush();
+        CustomerResponse updated = CustomerMapper.toCustomerResponse(model);
+        customerResponseCache.evict(previous);
+        eventPublisher.publishEvent(new CustomerChangedEvent(previous, updated));
+        return updated;
     }
 
     /**
@@ -185,22 +530,32 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws CustomerAlreadyExistsException if the mobile number is already taken.
      */
     @Override
+    @Transactional
+    @RetryOnConflict
     public CustomerResponse updateMobileNumber(String userName, String mobileNumber) {
         CustomerModel model = customerRepository.findByUserName(userName)
                 .orElseThrow(() -> new CustomerNotExistsException(userName + " " + CUSTOMER_NOT_EXISTS));
 
-        customerRepository.findByCustomerMobileNumber(mobileNumber).ifPresent(existing -> {
-            throw new CustomerAlreadyExistsException(mobileNumber + " " + CUSTOMER_ALREADY_EXISTS);
-        });
+        if (customerKeyFilter.mightContain(MOBILE_NUMBER, mobileNumber)) {
+            if (customerRepository.existsByCustomerMobileNumber(mobileNumber)) {
+                throw new CustomerAlreadyExistsException(mobileNumber + " " + CUSTOMER_ALREADY_EXISTS);
+            }
+            customerKeyFilter.recordFalsePositive(MOBILE_NUMBER);
+        }
 
+        CustomerResponse previous = CustomerMapper.toCustomerResponse(model);
         model.setCustomerMobileNumber(mobileNumber);
-        model.setUpdatedDate(LocalDateTime.now());
 
-        return CustomerMapper.toCustomerResponse(customerRepository.saveAndFlush(model));
+        customerRepository.flush();
+        CustomerResponse updated = CustomerMapper.toCustomerResponse(model);
+        customerResponseCache.evict(previous);
+        eventPublisher.publishEvent(new CustomerChangedEvent(previous, updated));
+        return updated;
     }
 
     /**
      * Updates a customer's status using their mobile number.
+     * Setting the status the customer already has writes nothing and publishes no {@link CustomerChangedEvent}.
      *
      * @param mobileNumber The customer's mobile number.
      * @param status       The new {@link CustomerStatus}.
@@ -208,12 +563,142 @@ public class CustomerServiceImpl implements CustomerService {
      * @throws CustomerNotExistsException if the customer does not exist.
      */
     @Override
+    @Transactional
+    @RetryOnConflict
     public CustomerResponse updateStatusByMobile(String mobileNumber, CustomerStatus status) {
         CustomerModel model = customerRepository.findByCustomerMobileNumber(mobileNumber)
                 .orElseThrow(() -> new CustomerNotExistsException(mobileNumber + " " + CUSTOMER_NOT_EXISTS));
+        CustomerResponse previous = CustomerMapper.toCustomerResponse(model);
+        if (previous.getUserStatus() == status) {
+            return previous;
+        }
         model.setUserStatus(status);
-        model.setUpdatedDate(LocalDateTime.now());
-        return CustomerMapper.toCustomerResponse(customerRepository.saveAndFlush(model));
+        customerRepository.flush();
+        CustomerResponse updated = CustomerMapper.toCustomerResponse(model);
+        customerResponseCache.evict(previous);
+        eventPublisher.publishEvent(new CustomerChangedEvent(previous, updated));
+        return updated;
+    }
+
+    /**
+     * Updates the status of many customers with set-based statements.
+     * <ul>
+     *   <li>Works in chunks of {@code BATCH_CHUNK_SIZE} distinct mobile numbers.</li>
+     *   <li>Each chunk costs one lookup (for not-found reporting, cache eviction and the change events)
+     *       and one {@code UPDATE ... WHERE customerMobileNumber IN (...)}.</li>
+     *   <li>Publishes a {@link CustomerChangedEvent} for every customer whose status actually changes.</li>
+     * </ul>
+     *
+     * @param mobileNumbers The customers' mobile numbers.
+     * @param status        The new {@link CustomerStatus}.
+     * @return The number of customers changed and the mobile numbers that were not found.
+     * @throws InvalidRequestException if the list or the status is missing, or the list contains {@code null}.
+     */
+    @Override
+    @Transactional
+    public CustomerStatusBulkResponse updateStatusInBulk(List<String> mobileNumbers, CustomerStatus status) {
+        if (mobileNumbers == null || mobileNumbers.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidRequestException(BULK_MOBILE_NUMBERS_REQUIRED);
+        }
+        if (status == null) {
+            throw new InvalidRequestException(BULK_STATUS_REQUIRED);
+        }
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(mobileNumbers));
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        List<String> notFound = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += BATCH_CHUNK_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinct.size()));
+            List<CustomerResponse> existing = customerRepository.findResponsesByCustomerMobileNumberIn(chunk);
+
+            Set<String> found = new HashSet<>();
+            for (CustomerResponse previous : existing) {
+                found.add(previous.getCustomerMobileNumber());
+                customerResponseCache.evict(previous);
+            }
+            for (String mobileNumber : chunk) {
+                if (!found.contains(mobileNumber)) {
+                    notFound.add(mobileNumber);
+                }
+            }
+            if (!found.isEmpty()) {
+                updated += customerRepository.updateStatusByCustomerMobileNumberIn(found, status, now);
+            }
+            for (CustomerResponse previous : existing) {
+                if (previous.getUserStatus() != status) {
+                    eventPublisher.publishEvent(
+                            new CustomerChangedEvent(previous, CustomerMapper.withStatus(previous, status, now)));
+                }
+            }
+        }
+        return new CustomerStatusBulkResponse(updated, notFound);
+    }
+
+    /**
+     * Suggests names starting with the given prefix from the in-memory {@link CustomerNameIndex}.
+     * <ul>
+     *   <li>Never touches the database, so it runs without a transaction.</li>
+     *   <li>A blank prefix yields no suggestions.</li>
+     *   <li>The limit falls back to {@code DEFAULT_SUGGESTION_LIMIT} when not positive and is capped at {@code MAX_SUGGESTION_LIMIT}.</li>
+     * </ul>
+     *
+     * @param field  the name field to search.
+     * @param prefix the typed prefix, matched case-insensitively.
+     * @param limit  the maximum number of suggestions.
+     * @return the suggestions in alphabetical order, with the number of customers carrying each name.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<NameSuggestion> suggestNames(NameField field, String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int size = limit <= 0 ? DEFAULT_SUGGESTION_LIMIT : Math.min(limit, MAX_SUGGESTION_LIMIT);
+        return customerNameIndex.search(field, prefix.strip(), size);
+    }
+
+    /**
+     * Runs a ranked full-text search against the embedded {@link CustomerSearchIndex}.
+     * <ul>
+     *   <li>Never touches the database, so it runs without a transaction.</li>
+     *   <li>The page size falls back to {@code DEFAULT_SEARCH_PAGE_SIZE} when not positive; pages beyond the first
+     *       {@code MAX_SEARCH_RESULTS} hits come back empty.</li>
+     * </ul>
+     *
+     * @param query free text; fragments and small typos are matched.
+     * @param page  the zero-based page number.
+     * @param size  the page size.
+     * @return one page of matching customers, best match first.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CustomerSearchResponse searchCustomers(String query, int page, int size) {
+        int pageSize = size <= 0 ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(size, MAX_SEARCH_RESULTS);
+        return customerSearchIndex.search(query == null ? "" : query, Math.max(page, 0), pageSize);
+    }
+
+    /**
+     * Rebuilds the full-text search index from the database on the index's own thread;
+     * the index keeps answering searches while it runs.
+     *
+     * @return completes with the number of customers indexed.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<Long> rebuildSearchIndex() {
+        return customerSearchIndex.rebuild();
+    }
+
+    /**
+     * Rebuilds the uniqueness key filters from the database on the filter's own thread;
+     * uniqueness checks keep using the current filters while it runs.
+     *
+     * @return completes with the number of customers loaded.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<Long> rebuildKeyFilter() {
+        return customerKeyFilter.rebuild();
     }
 
     /**
@@ -227,13 +712,13 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public List<CustomerResponse> getDistinctByLastNameAndFirstName(String lastName, String firstName) {
-        List<CustomerModel> models = customerRepository.findDistinctByLastNameAndFirstName(lastName, firstName);
-        if (models.isEmpty()) {
+        List<CustomerResponse> customers = customerRepository.findDistinctResponsesByLastNameAndFirstName(lastName, firstName);
+        if (customers.isEmpty()) {
             throw new CustomerNotExistsException(
                     "No distinct customers found with lastName: " + lastName + " and firstName: " + firstName
             );
         }
-        return models.stream().map(CustomerMapper::toCustomerResponse).toList();
+        return customers;
     }
 
     /**
@@ -246,13 +731,13 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public List<CustomerResponse> getByLastNameAndFirstName(String lastName, String firstName) {
-        List<CustomerModel> models = customerRepository.findByLastNameAndFirstName(lastName, firstName);
-        if (models.isEmpty()) {
+        List<CustomerResponse> customers = customerRepository.findResponsesByLastNameAndFirstName(lastName, firstName);
+        if (customers.isEmpty()) {
             throw new CustomerNotExistsException(
                     "No customers found with lastName: " + lastName + " and firstName: " + firstName
             );
         }
-        return models.stream().map(CustomerMapper::toCustomerResponse).toList();
+        return customers;
     }
 
     /**
@@ -266,13 +751,13 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public List<CustomerResponse> getByLastNameOrFirstName(String lastName, String firstName) {
-        List<CustomerModel> models = customerRepository.findByLastNameOrFirstName(lastName, firstName);
-        if (models.isEmpty()) {
+        List<CustomerResponse> customers = customerRepository.findResponsesByLastNameOrFirstName(lastName, firstName);
+        if (customers.isEmpty()) {
             throw new CustomerNotExistsException(
                     "No customers found with lastName: " + lastName + " or firstName: " + firstName
             );
         }
-        return models.stream().map(CustomerMapper::toCustomerResponse).toList();
+        return customers;
     }
 
     /**
@@ -284,17 +769,16 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public List<CustomerResponse> getByFirstName(String firstName) {
-        List<CustomerModel> customers = customerRepository.findByFirstName(firstName);
+        List<CustomerResponse> customers = customerRepository.findResponsesByFirstName(firstName);
         if (customers.isEmpty()) {
             throw new CustomerNotExistsException("No customers found with firstName: " + firstName);
         }
-        return customers.stream().map(CustomerMapper::toCustomerResponse).toList();
+        return customers;
     }
 
     /**
      * Retrieves customers by matching only the firstName (using "IS" keyword).
-     * Functionally similar to getByFirstName, but demonstrates the use of
-     * Spring Data JPA's "Is" keyword for better readability.
+     * The "Is" keyword produces the same SQL as getByFirstName, so both share one projection query.
      *
      * @param firstName the first name of the customer
      * @return a list of CustomerResponse objects
@@ -302,16 +786,17 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public List<CustomerResponse> getByFirstNameIs(String firstName) {
-        List<CustomerModel> customers = customerRepository.findByFirstNameIs(firstName);
+        List<CustomerResponse> customers = customerRepository.findResponsesByFirstName(firstName);
         if (customers.isEmpty()) {
             throw new CustomerNotExistsException("No customers found with firstName (IS): " + firstName);
         }
-        return customers.stream().map(CustomerMapper::toCustomerResponse).toList();
+        return customers;
     }
 
     /**
      * Retrieves customers by matching only the firstName (using "Equals" keyword).
-     * Explicitly enforces equality check, similar to SQL "=" operator.
+     * Explicitly enforces equality check, similar to SQL "=" operator,
+     * and shares the projection query of getByFirstName.
      *
      * @param firstName the first name of the customer
      * @return a list of CustomerResponse objects
@@ -319,10 +804,10 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public List<CustomerResponse> getByFirstNameEquals(String firstName) {
-        List<CustomerModel> customers = customerRepository.findByFirstNameEquals(firstName);
+        List<CustomerResponse> customers = customerRepository.findResponsesByFirstName(firstName);
         if (customers.isEmpty()) {
             throw new CustomerNotExistsException("No customers found with firstName (Equals): " + firstName);
         }
-        return customers.stream().map(CustomerMapper::toCustomerResponse).toList();
+        return customers;
     }
 }
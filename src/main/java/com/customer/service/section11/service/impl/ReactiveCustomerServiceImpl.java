@@ -0,0 +1,65 @@
+package com.customer.service.section11.service.impl;
+
+import com.customer.service.section11.exceptions.CustomerNotExistsException;
+import com.customer.service.section11.repository.ReactiveCustomerRepository;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.service.ReactiveCustomerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.customer.service.section11.constant.CustomerConstant.CUSTOMER_NOT_EXISTS;
+
+/**
+ * Implementation of {@link ReactiveCustomerService} on top of {@link ReactiveCustomerRepository}.
+ * <p>
+ * A lookup that finds nothing is turned into a {@link CustomerNotExistsException} signal, which the
+ * {@code GlobalExceptionHandler} maps to {@code 404 NOT_FOUND} exactly like on the blocking API.
+ * Errors are raised lazily so nothing is built unless the result is actually empty.
+ * Name searches are streamed as NDJSON, which cannot carry the JSON error body, so no match is an empty stream.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+
+    private final ReactiveCustomerRepository reactiveCustomerRepository;
+
+    @Override
+    public Mono<CustomerResponse> getByCustomerMobileNumber(String mobileNumber) {
+        return reactiveCustomerRepository.findResponseByCustomerMobileNumber(mobileNumber)
+                .switchIfEmpty(Mono.error(() -> new CustomerNotExistsException(mobileNumber + " " + CUSTOMER_NOT_EXISTS)));
+    }
+
+    @Override
+    public Mono<CustomerResponse> getByCustomerName(String userName) {
+        return reactiveCustomerRepository.findResponseByUserName(userName)
+                .switchIfEmpty(Mono.error(() -> new CustomerNotExistsException(userName + " " + CUSTOMER_NOT_EXISTS)));
+    }
+
+    @Override
+    public Mono<CustomerResponse> getByEmailAddress(String emailAddress) {
+        return reactiveCustomerRepository.findResponseByCustomerEmailAddress(emailAddress)
+                .switchIfEmpty(Mono.error(() -> new CustomerNotExistsException(emailAddress + " " + CUSTOMER_NOT_EXISTS)));
+    }
+
+    @Override
+    public Flux<CustomerResponse> getDistinctByLastNameAndFirstName(String lastName, String firstName) {
+        return reactiveCustomerRepository.findDistinctResponsesByLastNameAndFirstName(lastName, firstName);
+    }
+
+    @Override
+    public Flux<CustomerResponse> getByLastNameAndFirstName(String lastName, String firstName) {
+        return reactiveCustomerRepository.findResponsesByLastNameAndFirstName(lastName, firstName);
+    }
+
+    @Override
+    public Flux<CustomerResponse> getByLastNameOrFirstName(String lastName, String firstName) {
+        return reactiveCustomerRepository.findResponsesByLastNameOrFirstName(lastName, firstName);
+    }
+
+    @Override
+    public Flux<CustomerResponse> getByFirstName(String firstName) {
+        return reactiveCustomerRepository.findResponsesByFirstName(firstName);
+    }
+}
@@ -0,0 +1,98 @@
+package com.customer.service.section11.sql;
+
+import com.customer.service.section11.exceptions.SqlBudgetExceededException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements run while handling one HTTP request, bound to the request thread.
+ * <p>
+ * Started by {@link SqlBudgetInterceptor}, filled by {@link SqlCountingDataSource} (one call per statement executed
+ * over JDBC, with its execution time), and stored as the request attribute
+ * {@link #ATTRIBUTE}. Work done on other threads, such as streamed responses or the reactive API, is not counted.
+ */
+public final class RequestSqlStats {
+
+    /** Request attribute under which the statistics of the request are stored. */
+    public static final String ATTRIBUTE = RequestSqlStats.class.getName();
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final int budget;
+    private final boolean reject;
+    private final Map<String, Integer> selects = new HashMap<>();
+    private int statements;
+    private long executionNanos;
+
+    private RequestSqlStats(String endpoint, int budget, boolean reject) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+        this.reject = reject;
+    }
+
+    static RequestSqlStats start(String endpoint, int budget, boolean reject) {
+        RequestSqlStats stats = new RequestSqlStats(endpoint, budget, reject);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            selects.merge(sql, 1, Integer::sum);
+        }
+        if (reject && statements > budget) {
+            throw new SqlBudgetExceededException(endpoint + " exceeded its budget of " + budget + " SQL statements");
+        }
+    }
+
+    void recordExecution(long nanos) {
+        executionNanos += nanos;
+    }
+
+    /**
+     * Returns the SELECT statements that ran at least {@code threshold} times, the usual sign of an N+1 query.
+     *
+     * @param threshold the minimum number of runs to report
+     * @return the repeated statements and how often each ran
+     */
+    Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new HashMap<>();
+        selects.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    /** @return the handling controller method, as {@code ControllerSimpleName.methodName} */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /** @return the statement budget of the endpoint */
+    public int getBudget() {
+        return budget;
+    }
+
+    /** @return the number of statements executed so far */
+    public int getStatements() {
+        return statements;
+    }
+
+    /** @return the total time spent executing statements, in nanoseconds */
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+}
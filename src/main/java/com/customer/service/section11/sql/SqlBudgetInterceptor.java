@@ -0,0 +1,58 @@
+package com.customer.service.section11.sql;
+
+import com.customer.service.section11.enums.SqlBudgetMode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL statements of every controller request against the endpoint's budget.
+ * <ul>
+ *   <li>Starts a {@link RequestSqlStats} for the request thread and stores it as a request attribute.</li>
+ *   <li>In {@code REJECT} mode the statement that exceeds the budget fails; in {@code LOG} mode the request
+ *       completes and a warning is logged.</li>
+ *   <li>Logs every SELECT that ran {@code repeatedSelectThreshold} times or more as a possible N+1 query.</li>
+ * </ul>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private final SqlBudgetProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            String endpoint = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+            RequestSqlStats stats = RequestSqlStats.start(endpoint, properties.budgetFor(endpoint),
+                    properties.mode() == SqlBudgetMode.REJECT);
+            request.setAttribute(RequestSqlStats.ATTRIBUTE, stats);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestSqlStats.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        RequestSqlStats.clear();
+        if (stats == null) {
+            return;
+        }
+        if (stats.getStatements() > stats.getBudget()) {
+            log.warn("{} ran {} SQL statements in {} ms, over its budget of {}", stats.getEndpoint(),
+                    stats.getStatements(), TimeUnit.NANOSECONDS.toMillis(stats.getExecutionNanos()), stats.getBudget());
+        }
+        stats.repeatedSelects(properties.repeatedSelectThreshold()).forEach((sql, count) ->
+                log.warn("Possible N+1 query in {}: ran {} times: {}", stats.getEndpoint(), count, sql));
+    }
+}
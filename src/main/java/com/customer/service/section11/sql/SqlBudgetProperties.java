@@ -0,0 +1,32 @@
+package com.customer.service.section11.sql;
+
+import com.customer.service.section11.enums.SqlBudgetMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Per-request SQL statement budgets, bound from {@code customer.sql-budget.*}.
+ *
+ * @param mode                    whether a request over budget is only logged or rejected
+ * @param defaultStatements       the budget of endpoints without an entry in {@code endpoints}
+ * @param repeatedSelectThreshold how often one SELECT may run in a request before it is reported as a possible N+1
+ * @param endpoints               budgets keyed by {@code ControllerSimpleName.methodName}
+ */
+@ConfigurationProperties("customer.sql-budget")
+public record SqlBudgetProperties(@DefaultValue("LOG") SqlBudgetMode mode,
+                                  @DefaultValue("5") int defaultStatements,
+                                  @DefaultValue("5") int repeatedSelectThreshold,
+                                  Map<String, Integer> endpoints) {
+
+    /**
+     * Returns the statement budget of the given endpoint.
+     *
+     * @param endpoint {@code ControllerSimpleName.methodName}
+     * @return the maximum number of statements one request may run
+     */
+    public int budgetFor(String endpoint) {
+        return endpoints == null ? defaultStatements : endpoints.getOrDefault(endpoint, defaultStatements);
+    }
+}
@@ -0,0 +1,19 @@
+package com.customer.service.section11.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every {@code DataSource} bean in a {@link SqlCountingDataSource}, so the per-request SQL budget sees all JDBC
+ * traffic. The pool itself stays reachable through {@code unwrap} for its metrics and health checks.
+ */
+public class SqlCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource && !(bean instanceof SqlCountingDataSource)
+                ? new SqlCountingDataSource(dataSource)
+                : bean;
+    }
+}
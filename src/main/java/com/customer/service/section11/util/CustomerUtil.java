@@ -1,48 +1,33 @@
 package com.customer.service.section11.util;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.stream.Collectors;
-
-import static com.customer.service.section11.constant.CustomerConstant.PASS_CHARACTERS;
-import static com.customer.service.section11.constant.CustomerConstant.PASS_LENGTH;
+import java.util.Objects;
 
 /**
  * Util class for customer-related helper methods such as hashing passwords.
  * Uses SHA-256 hashing instead of BCrypt.
+ * <p>
+ * The actual generation and hashing is delegated to a {@link PasswordHashingStrategy}, which defaults to
+ * {@link Sha256PasswordHashingStrategy} and can be replaced with {@link #setPasswordHashingStrategy}.
  */
 public class CustomerUtil {
 
-    private static String generatePassword() {
-        SecureRandom random = new SecureRandom();
-        return random.ints(PASS_LENGTH, 0, PASS_CHARACTERS.length())
-                .mapToObj(PASS_CHARACTERS::charAt)
-                .map(Object::toString)
-                .collect(Collectors.joining());
-    }
+    private static volatile PasswordHashingStrategy passwordHashingStrategy = new Sha256PasswordHashingStrategy();
 
     /**
-     * Hashes the given password using SHA-256 algorithm.
+     * Generates a random password and hashes it with the current {@link PasswordHashingStrategy}.
      *
      * @return hashed password in hexadecimal format
      */
     public static String autoGenerateHashPassword() {
-        String plainPassword = generatePassword();
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] encodedHash = digest.digest(plainPassword.getBytes());
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : encodedHash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error: SHA-256 algorithm not found.", e);
-        }
+        return passwordHashingStrategy.generateHashedPassword();
+    }
+
+    /**
+     * Replaces the strategy used by {@link #autoGenerateHashPassword()}.
+     *
+     * @param strategy the strategy to use from now on
+     */
+    public static void setPasswordHashingStrategy(PasswordHashingStrategy strategy) {
+        passwordHashingStrategy = Objects.requireNonNull(strategy, "strategy");
     }
 }
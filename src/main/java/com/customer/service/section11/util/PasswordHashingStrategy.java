@@ -0,0 +1,18 @@
+package com.customer.service.section11.util;
+
+/**
+ * Strategy used by {@link CustomerUtil} to produce the stored password of a new customer.
+ * <p>
+ * Implementations generate a random password and return only its hash, so the plain text
+ * never leaves the implementation. They are called concurrently from request threads and
+ * must therefore be thread-safe.
+ */
+public interface PasswordHashingStrategy {
+
+    /**
+     * Generates a random password and hashes it.
+     *
+     * @return the hashed password, ready to be stored on the customer
+     */
+    String generateHashedPassword();
+}
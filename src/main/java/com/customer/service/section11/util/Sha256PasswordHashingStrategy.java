@@ -0,0 +1,89 @@
+package com.customer.service.section11.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static com.customer.service.section11.constant.CustomerConstant.PASS_CHARACTERS;
+import static com.customer.service.section11.constant.CustomerConstant.PASS_LENGTH;
+
+/**
+ * Default {@link PasswordHashingStrategy}: a random {@code PASS_LENGTH}-character password
+ * drawn from {@code PASS_CHARACTERS}, hashed with SHA-256 and encoded as lowercase hex.
+ * <p>
+ * Allocation-light by design:
+ * <ul>
+ *   <li>one {@link SecureRandom} is shared by all threads instead of being seeded per call;</li>
+ *   <li>each thread reuses its own {@link MessageDigest} and password/hash buffers, since digests are not thread-safe;</li>
+ *   <li>the password is built straight into a {@code byte[]} (the alphabet is ASCII) from {@code nextBytes} calls
+ *       into a reused buffer; bytes that would bias the choice are rejected, and another buffer is drawn until the
+ *       password is full (usually the first call suffices). Both buffers are wiped after hashing;</li>
+ *   <li>the hash is encoded with {@link HexFormat}, so the only per-call allocation is the returned string.</li>
+ * </ul>
+ * On virtual threads (see the {@code virtual-threads} profile) each request runs on a fresh thread, so the
+ * per-thread state is created once per request instead of being reused; that is still cheaper than the
+ * original per-call {@link SecureRandom} seeding, and the shared generator's monitor is never held across
+ * a blocking call.
+ */
+public class Sha256PasswordHashingStrategy implements PasswordHashingStrategy {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final byte[] ALPHABET = PASS_CHARACTERS.getBytes(StandardCharsets.US_ASCII);
+    private static final HexFormat HEX = HexFormat.of();
+    /** Random bytes at or above this value are rejected so that every character is equally likely. */
+    private static final int UNBIASED_LIMIT = 256 - 256 % ALPHABET.length;
+
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<HashingState> state = ThreadLocal.withInitial(HashingState::new);
+
+    @Override
+    public String generateHashedPassword() {
+        HashingState current = state.get();
+        byte[] password = current.password;
+        byte[] randomBytes = current.randomBytes;
+        int length = 0;
+        while (length < password.length) {
+            random.nextBytes(randomBytes);
+            for (int i = 0; i < randomBytes.length && length < password.length; i++) {
+                int value = randomBytes[i] & 0xff;
+                if (value < UNBIASED_LIMIT) {
+                    password[length++] = ALPHABET[value % ALPHABET.length];
+                }
+            }
+        }
+        try {
+            current.digest.update(password);
+            current.digest.digest(current.hash, 0, current.hash.length);
+        } catch (DigestException e) {
+            throw new RuntimeException("Error: SHA-256 digest failed.", e);
+        } finally {
+            Arrays.fill(password, (byte) 0);
+            Arrays.fill(randomBytes, (byte) 0);
+        }
+        return HEX.formatHex(current.hash);
+    }
+
+    /**
+     * Per-thread digest and scratch buffers.
+     */
+    private static final class HashingState {
+
+        private final MessageDigest digest;
+        private final byte[] password = new byte[PASS_LENGTH];
+        private final byte[] randomBytes = new byte[PASS_LENGTH];
+        private final byte[] hash;
+
+        private HashingState() {
+            try {
+                digest = MessageDigest.getInstance(ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("Error: SHA-256 algorithm not found.", e);
+            }
+            hash = new byte[digest.getDigestLength()];
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.customer.service.section11.writebehind;
+
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.exceptions.CustomerNotExistsException;
+import com.customer.service.section11.exceptions.StatusQueueFullException;
+import com.customer.service.section11.response.CustomerStatusBulkResponse;
+import com.customer.service.section11.service.CustomerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.customer.service.section11.constant.CustomerConstant.CUSTOMER_NOT_EXISTS;
+
+/**
+ * Write-behind queue for status changes that arrive in bursts, as an alternative to the synchronous
+ * {@link CustomerService#updateStatusByMobile}.
+ * <ul>
+ *   <li>Holds at most one pending status per mobile number: a newer change replaces the queued one, so a burst of
+ *       flips for one customer costs a single write.</li>
+ *   <li>Bounded by {@code customer.status-queue.capacity} distinct customers. When it is full, changes for customers
+ *       not already queued are rejected with {@link StatusQueueFullException} instead of buffering without limit.</li>
+ *   <li>Every {@code customer.status-queue.flush-interval} the queued changes are written on a single flusher thread
+ *       through {@link CustomerService#updateStatusInBulk}: one transaction and one set-based {@code UPDATE} per
+ *       status and chunk, evicting the lookup cache and incrementing the version like any other write.</li>
+ *   <li>{@link #submit} returns an acknowledgement that completes once the change (or a newer change for the same
+ *       customer that replaced it) is committed, or fails with {@link CustomerNotExistsException} or the write error.
+ *       Callers that do not wait for it only have the change in memory: it is lost if the flush fails or the
+ *       process dies before the next flush. Pending changes are flushed on shutdown.</li>
+ * </ul>
+ * Metrics: {@code customer.status.queue.pending} (gauge), {@code customer.status.queue.coalesced} and
+ * {@code customer.status.queue.rejected} (counters) and {@code customer.status.queue.flush} (timer).
+ */
+@Slf4j
+@Component
+public class StatusWriteBehindQueue implements InitializingBean, DisposableBean {
+
+    private final CustomerService customerService;
+    private final int capacity;
+    private final Duration flushInterval;
+    private final ScheduledExecutorService flusher =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("customer-status-flusher-"));
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Timer flushes;
+
+    /** Guards {@link #pending}. */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Serializes flushes, so batches are written in the order they were drained. A {@code ReentrantLock} rather than
+     * a monitor, because it is held across the database write and must not pin a virtual thread.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private Map<String, PendingStatus> pending = new LinkedHashMap<>();
+
+    public StatusWriteBehindQueue(CustomerService customerService, ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${customer.status-queue.capacity}") int capacity,
+                                  @Value("${customer.status-queue.flush-interval}") Duration flushInterval) {
+        this.customerService = customerService;
+        this.capacity = capacity;
+        this.flushInterval = flushInterval;
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.coalesced = Counter.builder("customer.status.queue.coalesced")
+                .description("Queued status changes replaced by a newer change for the same customer")
+                .register(registry);
+        this.rejected = Counter.builder("customer.status.queue.rejected")
+                .description("Status changes rejected because the queue was full")
+                .register(registry);
+        this.flushes = Timer.builder("customer.status.queue.flush")
+                .description("Time spent writing one batch of queued status changes")
+                .register(registry);
+        Gauge.builder("customer.status.queue.pending", this, StatusWriteBehindQueue::size)
+                .description("Customers with a queued status change")
+                .register(registry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a status change, replacing any change still queued for the same customer.
+     *
+     * @param mobileNumber the customer's mobile number
+     * @param status       the new status
+     * @return completes once the change is committed; fails if it could not be written
+     * @throws StatusQueueFullException if the customer has no queued change and the queue is full
+     */
+    public CompletableFuture<Void> submit(String mobileNumber, CustomerStatus status) {
+        lock.lock();
+        try {
+            PendingStatus queued = pending.get(mobileNumber);
+            if (queued == null) {
+                if (pending.size() >= capacity) {
+                    rejected.increment();
+                    throw new StatusQueueFullException("Status queue is full (" + capacity + " customers), retry later");
+                }
+                queued = new PendingStatus();
+                pending.put(mobileNumber, queued);
+            } else {
+                coalesced.increment();
+            }
+            queued.status = status;
+            return queued.written.copy();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes every queued change now. Called by the flusher thread and on shutdown.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<String, PendingStatus> batch;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            } finally {
+                lock.unlock();
+            }
+            flushes.record(() -> write(batch));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of customers with a queued change
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Map<String, PendingStatus> batch) {
+        Map<CustomerStatus, List<String>> byStatus = new EnumMap<>(CustomerStatus.class);
+        batch.forEach((mobileNumber, queued) ->
+                byStatus.computeIfAbsent(queued.status, status -> new ArrayList<>()).add(mobileNumber));
+
+        byStatus.forEach((status, mobileNumbers) -> {
+            try {
+                CustomerStatusBulkResponse result = customerService.updateStatusInBulk(mobileNumbers, status);
+                Set<String> notFound = new HashSet<>(result.notFoundMobileNumbers());
+                for (String mobileNumber : mobileNumbers) {
+                    CompletableFuture<Void> written = batch.get(mobileNumber).written;
+                    if (notFound.contains(mobileNumber)) {
+                        written.completeExceptionally(new CustomerNotExistsException(mobileNumber + " " + CUSTOMER_NOT_EXISTS));
+                    } else {
+                        written.complete(null);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not write {} queued status changes to {}", mobileNumbers.size(), status, e);
+                mobileNumbers.forEach(mobileNumber -> batch.get(mobileNumber).written.completeExceptionally(e));
+            }
+        });
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Status queue flush failed", e);
+        }
+    }
+
+    /**
+     * Stops the flusher and writes the changes still queued.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(flushInterval.toMillis() + 10_000, TimeUnit.MILLISECONDS);
+        flush();
+    }
+
+    /** The latest queued status of one customer, and the acknowledgement shared by every change it replaced. */
+    private static final class PendingStatus {
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+        private CustomerStatus status;
+    }
+}
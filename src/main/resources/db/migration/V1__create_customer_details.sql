@@ -0,0 +1,20 @@
+-- Initial schema, equivalent to what ddl-auto=update used to create.
+-- Existing databases are baselined at this version and skip this script.
+CREATE TABLE IF NOT EXISTS customer_details_section11 (
+    customer_id            BIGINT       NOT NULL AUTO_INCREMENT,
+    user_name              VARCHAR(255),
+    first_name             VARCHAR(255),
+    last_name              VARCHAR(255),
+    customer_age           INT,
+    customer_mobile_number VARCHAR(255),
+    customer_email_address VARCHAR(255),
+    customer_address       VARCHAR(255),
+    password               VARCHAR(255),
+    user_status            VARCHAR(20),
+    created_date           DATETIME(6),
+    updated_date           DATETIME(6),
+    PRIMARY KEY (customer_id),
+    CONSTRAINT uk_customer_user_name UNIQUE (user_name),
+    CONSTRAINT uk_customer_mobile_number UNIQUE (customer_mobile_number),
+    CONSTRAINT uk_customer_email_address UNIQUE (customer_email_address)
+);
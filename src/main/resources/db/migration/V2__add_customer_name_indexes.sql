@@ -0,0 +1,7 @@
+-- Serves findByLastNameAndFirstName / findDistinctByLastNameAndFirstName,
+-- and the last_name half of findByLastNameOrFirstName.
+CREATE INDEX idx_customer_last_first_name ON customer_details_section11 (last_name, first_name);
+
+-- Serves findByFirstName / findByFirstNameIs / findByFirstNameEquals,
+-- and the first_name half of findByLastNameOrFirstName.
+CREATE INDEX idx_customer_first_name ON customer_details_section11 (first_name);
@@ -0,0 +1,3 @@
+-- Optimistic locking: every UPDATE through JPA checks and increments the version,
+-- so concurrent writes to the same customer are detected instead of overwriting each other.
+ALTER TABLE customer_details_section11 ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
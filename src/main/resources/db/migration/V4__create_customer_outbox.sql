@@ -0,0 +1,17 @@
+-- Transactional outbox: one row per customer change, written in the same transaction as the change.
+-- Consumers read it in event_id order and remember how far they got in customer_outbox_offset.
+CREATE TABLE customer_outbox (
+    event_id     BIGINT      NOT NULL AUTO_INCREMENT,
+    customer_id  BIGINT      NOT NULL,
+    event_type   VARCHAR(20) NOT NULL,
+    payload      TEXT        NOT NULL,
+    created_date DATETIME(6) NOT NULL,
+    PRIMARY KEY (event_id)
+);
+
+CREATE TABLE customer_outbox_offset (
+    consumer_name VARCHAR(100) NOT NULL,
+    last_event_id BIGINT       NOT NULL,
+    updated_date  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (consumer_name)
+);
@@ -0,0 +1,18 @@
+-- Delivery order of the outbox. event_id is assigned when a transaction inserts its events, but the events become
+-- visible only when it commits, so a slow transaction can commit ids below ones already read. delivery_seq is
+-- assigned by one poller at a time (customer_outbox_sequence is locked meanwhile), only to committed rows, so
+-- readers following delivery_seq never skip an event. Existing events keep their event_id as their sequence, which
+-- keeps the stored consumer positions and client cursors valid.
+ALTER TABLE customer_outbox ADD COLUMN delivery_seq BIGINT;
+UPDATE customer_outbox SET delivery_seq = event_id;
+CREATE UNIQUE INDEX uk_customer_outbox_delivery_seq ON customer_outbox (delivery_seq);
+
+CREATE TABLE customer_outbox_sequence (
+    sequence_name VARCHAR(100) NOT NULL,
+    last_sequence BIGINT       NOT NULL,
+    PRIMARY KEY (sequence_name)
+);
+INSERT INTO customer_outbox_sequence (sequence_name, last_sequence)
+SELECT 'customer_outbox', COALESCE(MAX(event_id), 0) FROM customer_outbox;
+
+ALTER TABLE customer_outbox_offset RENAME COLUMN last_event_id TO last_sequence;
@@ -0,0 +1,89 @@
+package com.customer.service.section11.benchmark;
+
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.response.ApiResponse;
+import com.customer.service.section11.response.CustomerResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of the {@link ApiResponse} envelope the controller returns,
+ * wrapping either a single {@link CustomerResponse} or a list of {@code customers} of them.
+ * <p>
+ * The mapper is configured like the one Spring Boot auto-configures (ISO-8601 dates, JSR-310 module)
+ * and writes to a discarding stream, so the scores cover serialization only and not buffer growth:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ApiResponseSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "10000"})
+    private int customers;
+
+    private ObjectWriter writer;
+    private ApiResponse response;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup(Level.Trial)
+    public void createFixtures() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(ApiResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CustomerResponse> data = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            data.add(CustomerResponse.builder()
+                    .customerId((long) i)
+                    .userName("user" + i)
+                    .firstName("first" + i)
+                    .lastName("last" + i)
+                    .customerAge(20 + i % 50)
+                    .customerMobileNumber(String.format("9%09d", i))
+                    .customerEmailAddress("user" + i + "@example.com")
+                    .customerAddress("Street " + i)
+                    .userStatus(CustomerStatus.ACTIVE)
+                    .createdDate(now)
+                    .updatedDate(now)
+                    .build());
+        }
+        Object payload = customers == 1 ? data.get(0) : data;
+        response = new ApiResponse(HttpStatus.OK.value(), HttpStatus.OK.name(), payload);
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        writer.writeValue(sink, response);
+    }
+}
@@ -0,0 +1,121 @@
+package com.customer.service.section11.benchmark;
+
+import com.customer.service.section11.CustomerServiceSection11Application;
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.service.CustomerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Many threads updating a small set of hot customers through {@code updateCustomer}, which is optimistically
+ * locked and retried on conflict. Fewer hot customers mean more conflicts, more retries and lower throughput.
+ * <p>
+ * Conflicts per operation (retried and given up) are printed from the {@code customer.write.conflicts} counters
+ * at the end of each trial; operations that give up are counted instead of failing the benchmark:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CustomerContentionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class CustomerContentionBenchmark {
+
+    @Param({"1", "8", "64"})
+    private int hotCustomers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private MeterRegistry meterRegistry;
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder gaveUp = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CustomerServiceSection11Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run();
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        customerService = context.getBean(CustomerService.class);
+        meterRegistry = context.getBeanProvider(MeterRegistry.class).getIfAvailable(SimpleMeterRegistry::new);
+        customerRepository.deleteAllInBatch();
+
+        List<CustomerModel> models = new ArrayList<>(hotCustomers);
+        for (int i = 0; i < hotCustomers; i++) {
+            models.add(CustomerMapper.toCustomerModel(request(i, "Street 0")));
+        }
+        customerRepository.saveAll(models);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        double ops = operations.sum();
+        System.out.printf("%nretried conflicts/op: %.3f, gave up/op: %.4f%n",
+                conflicts("retried") / ops, gaveUp.sum() / ops);
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponse updateHotCustomer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        operations.increment();
+        try {
+            return customerService.updateCustomer(request(random.nextInt(hotCustomers), "Street " + random.nextInt()));
+        } catch (OptimisticLockingFailureException e) {
+            gaveUp.increment();
+            return null;
+        }
+    }
+
+    private double conflicts(String outcome) {
+        Counter counter = meterRegistry.find("customer.write.conflicts")
+                .tag("method", "updateCustomer").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static CustomerRequest request(int index, String address) {
+        return CustomerRequest.builder()
+                .userName("user" + index)
+                .firstName("first" + index)
+                .lastName("last" + index)
+                .customerAge(30)
+                .customerMobileNumber(String.format("9%09d", index))
+                .customerEmailAddress("user" + index + "@example.com")
+                .customerAddress(address)
+                .build();
+    }
+}
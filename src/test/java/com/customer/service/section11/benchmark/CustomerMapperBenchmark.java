@@ -0,0 +1,86 @@
+package com.customer.service.section11.benchmark;
+
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.util.CustomerUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput and allocation rate of the per-request conversions done by
+ * {@link CustomerMapper} and of the password generation in {@link CustomerUtil}.
+ * <p>
+ * {@code toCustomerModel} includes a call to {@link CustomerUtil#autoGenerateHashPassword()},
+ * so comparing the two scores shows how much of the mapping cost is spent on hashing:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CustomerMapperBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    private CustomerRequest request;
+    private CustomerModel model;
+
+    @Setup(Level.Trial)
+    public void createFixtures() {
+        request = CustomerRequest.builder()
+                .userName("john.doe")
+                .firstName("John")
+                .lastName("Doe")
+                .customerAge(30)
+                .customerMobileNumber("9876543210")
+                .customerEmailAddress("john.doe@example.com")
+                .customerAddress("221B Baker Street, London")
+                .build();
+        model = CustomerModel.builder()
+                .customerId(42L)
+                .userName("john.doe")
+                .firstName("John")
+                .lastName("Doe")
+                .customerAge(30)
+                .customerMobileNumber("9876543210")
+                .customerEmailAddress("john.doe@example.com")
+                .customerAddress("221B Baker Street, London")
+                .password(CustomerUtil.autoGenerateHashPassword())
+                .userStatus(CustomerStatus.ACTIVE)
+                .createdDate(LocalDateTime.now())
+                .updatedDate(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public CustomerModel toCustomerModel() {
+        return CustomerMapper.toCustomerModel(request);
+    }
+
+    @Benchmark
+    public CustomerResponse toCustomerResponse() {
+        return CustomerMapper.toCustomerResponse(model);
+    }
+
+    @Benchmark
+    public String autoGenerateHashPassword() {
+        return CustomerUtil.autoGenerateHashPassword();
+    }
+}
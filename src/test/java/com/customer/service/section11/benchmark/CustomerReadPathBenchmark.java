@@ -0,0 +1,141 @@
+package com.customer.service.section11.benchmark;
+
+import com.customer.service.section11.CustomerServiceSection11Application;
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.repository.ReactiveCustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the entity read path (load a managed {@link CustomerModel}, then copy it with {@link CustomerMapper})
+ * with the constructor-projection path that selects straight into {@link CustomerResponse}, and both with the
+ * R2DBC path of the reactive API ({@link ReactiveCustomerRepository}, blocked on here to measure a full round trip).
+ * <p>
+ * Runs against an in-memory H2 database seeded with {@code customers} rows, {@code customersPerFirstName}
+ * of which share each first name. Run with the GC profiler to compare allocations per operation:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CustomerReadPathBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerReadPathBenchmark {
+
+    @Param("10000")
+    private int customers;
+
+    @Param("20")
+    private int customersPerFirstName;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private ReactiveCustomerRepository reactiveCustomerRepository;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CustomerServiceSection11Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run();
+        customerRepository = context.getBean(CustomerRepository.class);
+        reactiveCustomerRepository = context.getBean(ReactiveCustomerRepository.class);
+        customerRepository.deleteAllInBatch();
+
+        List<CustomerModel> models = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            models.add(CustomerMapper.toCustomerModel(CustomerRequest.builder()
+                    .userName("user" + i)
+                    .firstName("first" + (i / customersPerFirstName))
+                    .lastName("last" + i)
+                    .customerAge(20 + i % 50)
+                    .customerMobileNumber(mobileNumber(i))
+                    .customerEmailAddress("user" + i + "@example.com")
+                    .customerAddress("Street " + i)
+                    .build()));
+        }
+        customerRepository.saveAll(models);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponse getByMobileEntity() {
+        CustomerModel model = customerRepository.findByCustomerMobileNumber(mobileNumber(nextIndex()))
+                .orElseThrow();
+        return CustomerMapper.toCustomerResponse(model);
+    }
+
+    @Benchmark
+    public CustomerResponse getByMobileProjection() {
+        return customerRepository.findResponseByCustomerMobileNumber(mobileNumber(nextIndex()))
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public CustomerResponse getByMobileReactive() {
+        return reactiveCustomerRepository.findResponseByCustomerMobileNumber(mobileNumber(nextIndex()))
+                .block();
+    }
+
+    @Benchmark
+    public List<CustomerResponse> getByFirstNameEntity() {
+        return customerRepository.findByFirstName(firstName(nextIndex())).stream()
+                .map(CustomerMapper::toCustomerResponse)
+                .toList();
+    }
+
+    @Benchmark
+    public List<CustomerResponse> getByFirstNameProjection() {
+        return customerRepository.findResponsesByFirstName(firstName(nextIndex()));
+    }
+
+    @Benchmark
+    public List<CustomerResponse> getByFirstNameReactive() {
+        return reactiveCustomerRepository.findResponsesByFirstName(firstName(nextIndex()))
+                .collectList()
+                .block();
+    }
+
+    private int nextIndex() {
+        cursor = (cursor + 1) % customers;
+        return cursor;
+    }
+
+    private String firstName(int index) {
+        return "first" + (index / customersPerFirstName);
+    }
+
+    private static String mobileNumber(int index) {
+        return String.format("9%09d", index);
+    }
+}
@@ -0,0 +1,118 @@
+package com.customer.service.section11.benchmark;
+
+import com.customer.service.section11.CustomerServiceSection11Application;
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.response.CustomerSearchResponse;
+import com.customer.service.section11.search.CustomerSearchIndex;
+import com.customer.service.section11.service.CustomerService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.customer.service.section11.repository.CustomerRepository.SELECT_CUSTOMER_RESPONSE;
+
+/**
+ * Compares a fragment search answered by the embedded {@link CustomerSearchIndex} with the
+ * {@code LIKE '%fragment%'} query it replaces, which has to scan every row of the table.
+ * <p>
+ * Runs against an in-memory H2 database seeded with {@code customers} rows; the index is rebuilt from it
+ * after seeding. Both variants return the first 20 customers whose email address contains the fragment:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CustomerSearchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param("10000")
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private EntityManager entityManager;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CustomerServiceSection11Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run();
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        customerService = context.getBean(CustomerService.class);
+        entityManager = context.getBean(EntityManager.class);
+        customerRepository.deleteAllInBatch();
+
+        List<CustomerModel> models = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            models.add(CustomerMapper.toCustomerModel(CustomerRequest.builder()
+                    .userName("user" + i)
+                    .firstName("first" + i)
+                    .lastName("last" + i)
+                    .customerAge(30)
+                    .customerMobileNumber(String.format("9%09d", i))
+                    .customerEmailAddress("first" + i + ".last" + i + "@example.com")
+                    .customerAddress("Street " + i)
+                    .build()));
+        }
+        customerRepository.saveAll(models);
+        customerService.rebuildSearchIndex().join();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerSearchResponse searchIndex() {
+        return customerService.searchCustomers(nextFragment(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<CustomerResponse> searchLike() {
+        return entityManager.createQuery(SELECT_CUSTOMER_RESPONSE + """
+                        where lower(c.firstName) like :fragment
+                           or lower(c.lastName) like :fragment
+                           or lower(c.customerEmailAddress) like :fragment
+                           or lower(c.customerAddress) like :fragment
+                        """, CustomerResponse.class)
+                .setParameter("fragment", "%" + nextFragment() + "%")
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+    }
+
+    private String nextFragment() {
+        cursor = (cursor + 1) % customers;
+        return "last" + cursor;
+    }
+}
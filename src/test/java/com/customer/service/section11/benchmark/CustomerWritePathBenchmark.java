@@ -0,0 +1,134 @@
+package com.customer.service.section11.benchmark;
+
+import com.customer.service.section11.CustomerServiceSection11Application;
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.service.CustomerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former {@code updateStatusByMobile} implementation (non-transactional find, then
+ * {@code saveAndFlush} of the detached entity) with the transactional dirty-checking service method.
+ * <p>
+ * Besides latency, the number of JDBC statements and transactions per operation is printed from the
+ * Hibernate statistics at the end of each trial:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CustomerWritePathBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerWritePathBenchmark {
+
+    @Param("1000")
+    private int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private CustomerService customerService;
+    private Statistics statistics;
+    private CustomerStatus[] statuses;
+    private int cursor;
+    private long operations;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CustomerServiceSection11Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties("spring.jpa.properties.hibernate.generate_statistics=true")
+                .run();
+        customerRepository = context.getBean(CustomerRepository.class);
+        customerService = context.getBean(CustomerService.class);
+        customerRepository.deleteAllInBatch();
+
+        List<CustomerModel> models = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            models.add(CustomerMapper.toCustomerModel(CustomerRequest.builder()
+                    .userName("user" + i)
+                    .firstName("first" + i)
+                    .lastName("last" + i)
+                    .customerAge(30)
+                    .customerMobileNumber(mobileNumber(i))
+                    .customerEmailAddress("user" + i + "@example.com")
+                    .customerAddress("Street " + i)
+                    .build()));
+        }
+        customerRepository.saveAll(models);
+        statuses = new CustomerStatus[customers];
+        Arrays.fill(statuses, CustomerStatus.ACTIVE);
+
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        System.out.printf("%nstatements/op: %.2f, transactions/op: %.2f%n",
+                (double) statistics.getPrepareStatementCount() / operations,
+                (double) statistics.getTransactionCount() / operations);
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponse updateStatusSaveAndFlush() {
+        int index = nextIndex();
+        CustomerModel model = customerRepository.findByCustomerMobileNumber(mobileNumber(index)).orElseThrow();
+        model.setUserStatus(flip(index));
+        model.setUpdatedDate(LocalDateTime.now());
+        return CustomerMapper.toCustomerResponse(customerRepository.saveAndFlush(model));
+    }
+
+    @Benchmark
+    public CustomerResponse updateStatusTransactional() {
+        int index = nextIndex();
+        return customerService.updateStatusByMobile(mobileNumber(index), flip(index));
+    }
+
+    private int nextIndex() {
+        operations++;
+        cursor = (cursor + 1) % customers;
+        return cursor;
+    }
+
+    private CustomerStatus flip(int index) {
+        statuses[index] = statuses[index] == CustomerStatus.ACTIVE ? CustomerStatus.INACTIVE : CustomerStatus.ACTIVE;
+        return statuses[index];
+    }
+
+    private static String mobileNumber(int index) {
+        return String.format("9%09d", index);
+    }
+}
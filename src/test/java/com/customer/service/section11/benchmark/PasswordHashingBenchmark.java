@@ -0,0 +1,87 @@
+package com.customer.service.section11.benchmark;
+
+import com.customer.service.section11.util.PasswordHashingStrategy;
+import com.customer.service.section11.util.Sha256PasswordHashingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.customer.service.section11.constant.CustomerConstant.PASS_CHARACTERS;
+import static com.customer.service.section11.constant.CustomerConstant.PASS_LENGTH;
+
+/**
+ * Compares the original {@code CustomerUtil.autoGenerateHashPassword} implementation (new {@link SecureRandom}
+ * and {@link MessageDigest} per call, boxed stream password, {@code Integer.toHexString} encoding) with
+ * {@link Sha256PasswordHashingStrategy}, single-threaded and with four threads sharing one strategy:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=PasswordHashingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private final PasswordHashingStrategy strategy = new Sha256PasswordHashingStrategy();
+
+    @Benchmark
+    public String legacy() {
+        return legacyAutoGenerateHashPassword();
+    }
+
+    @Benchmark
+    public String sha256Strategy() {
+        return strategy.generateHashedPassword();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacyConcurrent() {
+        return legacyAutoGenerateHashPassword();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String sha256StrategyConcurrent() {
+        return strategy.generateHashedPassword();
+    }
+
+    private static String legacyAutoGenerateHashPassword() {
+        SecureRandom random = new SecureRandom();
+        String plainPassword = random.ints(PASS_LENGTH, 0, PASS_CHARACTERS.length())
+                .mapToObj(PASS_CHARACTERS::charAt)
+                .map(Object::toString)
+                .collect(Collectors.joining());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] encodedHash = digest.digest(plainPassword.getBytes());
+            StringBuilder hexString = new StringBuilder();
+            for (byte b : encodedHash) {
+                String hex = Integer.toHexString(0xff & b);
+                if (hex.length() == 1) {
+                    hexString.append('0');
+                }
+                hexString.append(hex);
+            }
+            return hexString.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error: SHA-256 algorithm not found.", e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.customer.service.section11.benchmark;
+
+import com.customer.service.section11.CustomerServiceSection11Application;
+import org.h2.Driver;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup scenario: time from launching a JVM to the first successful request, with and without Spring AOT and an
+ * AppCDS archive.
+ * <p>
+ * Runs the application built by the {@code startup} profile (extracted to {@code target/startup}) in separate JVMs,
+ * against a fresh in-memory H2 database each time, and polls {@code GET /getAllData/page?limit=1} until it answers
+ * {@code 200}. Modes:
+ * <ul>
+ *   <li>{@code jvm} - the extracted jar as is.</li>
+ *   <li>{@code cds} - with a dynamic AppCDS archive from a training run that exits once the context is refreshed.</li>
+ *   <li>{@code aot} - with {@code -Dspring.aot.enabled=true}, using the bean definitions generated at build time.</li>
+ *   <li>{@code aot-cds} - both.</li>
+ * </ul>
+ * The archives are trained on the same classpath (the application plus the H2 driver) before the timed runs.
+ * Prints min/median/max per mode. Options are passed as {@code key=value} program arguments; other arguments are
+ * ignored:
+ * <pre>
+ * mvn -Pstartup package -DskipTests -Dstartup.training.skip=true
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.customer.service.section11.benchmark.StartupBenchmark \
+ *     -Dbenchmark.args="runs=5 modes=jvm,cds,aot,aot-cds"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final String FIRST_REQUEST = "/api/customer/v1/getAllData/page?limit=1";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        String[] modes = options.getOrDefault("modes", "jvm,cds,aot,aot-cds").split(",");
+        Path appDir = Path.of(options.getOrDefault("app", "target/startup"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeoutSeconds", "300")));
+
+        Path workDir = Files.createTempDirectory("customer-startup-");
+        String classpath = applicationJar(appDir) + File.pathSeparator
+                + Path.of(Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        System.out.printf("runs=%d, classpath=%s, logs in %s%n", runs, classpath, workDir);
+        for (String mode : modes) {
+            mode = mode.trim();
+            List<String> jvmArgs = new ArrayList<>();
+            if (mode.startsWith("aot")) {
+                jvmArgs.add("-Dspring.aot.enabled=true");
+            }
+            if (mode.endsWith("cds")) {
+                Path archive = workDir.resolve(mode + ".jsa");
+                List<String> training = new ArrayList<>(jvmArgs);
+                training.add("-XX:ArchiveClassesAtExit=" + archive);
+                training.add("-Dspring.context.exit=onRefresh");
+                Process process = start(classpath, training, workDir, mode + "-training");
+                if (!process.waitFor(timeout.toSeconds(), TimeUnit.SECONDS) || process.exitValue() != 0) {
+                    process.destroyForcibly();
+                    System.out.printf("%-8s training run failed, see %s%n", mode, workDir);
+                    continue;
+                }
+                jvmArgs.add("-XX:SharedArchiveFile=" + archive);
+            }
+
+            long[] millis = new long[runs];
+            boolean failed = false;
+            for (int run = 0; run < runs && !failed; run++) {
+                millis[run] = timeToFirstRequest(client, classpath, jvmArgs, workDir, mode + "-" + run, timeout);
+                failed = millis[run] < 0;
+            }
+            if (failed) {
+                System.out.printf("%-8s no successful request within %s, see %s%n", mode, timeout, workDir);
+                continue;
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-8s time to first request: min=%6d ms  median=%6d ms  max=%6d ms%n",
+                    mode, millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    /** Returns the milliseconds from launching the JVM to the first {@code 200}, or {@code -1} on timeout. */
+    private static long timeToFirstRequest(HttpClient client, String classpath, List<String> jvmArgs, Path workDir,
+                                           String name, Duration timeout) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> args = new ArrayList<>(jvmArgs);
+        args.add("-Dserver.port=" + port);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + FIRST_REQUEST))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = start(classpath, args, workDir, name);
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline && process.isAlive()) {
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            return -1;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Process start(String classpath, List<String> jvmArgs, Path workDir, String name) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of(
+                "-cp", classpath,
+                CustomerServiceSection11Application.class.getName(),
+                "--spring.datasource.url=jdbc:h2:mem:customer_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--customer.search.index-dir=" + workDir.resolve(name + "-index")));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve(name + ".log").toFile())
+                .start();
+    }
+
+    private static Path applicationJar(Path appDir) throws IOException {
+        try (Stream<Path> files = Files.list(appDir)) {
+            return files.filter(file -> file.toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException(
+                            "No extracted application in " + appDir.toAbsolutePath() + ", run mvn -Pstartup package first"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
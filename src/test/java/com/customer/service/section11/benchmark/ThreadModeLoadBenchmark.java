@@ -0,0 +1,201 @@
+package com.customer.service.section11.benchmark;
+
+import com.customer.service.section11.CustomerServiceSection11Application;
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test scenario comparing Tomcat on its platform-thread pool with Tomcat on virtual threads.
+ * <p>
+ * For each mode the application is started on a random port against H2, seeded with 1000 customers,
+ * and hit with {@code requests} {@code GET /getByFirstName} calls, {@code concurrency} of them
+ * in flight at a time. A servlet filter adds {@code latencyMs} of blocking sleep to every
+ * request to stand in for the network round trip of a remote database, which is what keeps a platform
+ * worker thread busy in production. The filter also records the maximum number of requests being handled
+ * concurrently, which is capped by {@code server.tomcat.threads.max} (200) in platform mode.
+ * <p>
+ * Prints p50/p99/max latency, throughput and max in-flight requests per mode. Virtual mode needs Java 21
+ * and is skipped on older JVMs. Options are passed as {@code key=value} program arguments; other arguments
+ * are ignored:
+ * <pre>
+ * mvn -Pbenchmark,java21 test-compile exec:exec -Dbenchmark.main=com.customer.service.section11.benchmark.ThreadModeLoadBenchmark \
+ *     -Dbenchmark.args="requests=20000 concurrency=1000 latencyMs=50 modes=platform,virtual"
+ * </pre>
+ */
+public final class ThreadModeLoadBenchmark {
+
+    private static final int CUSTOMERS = 1000;
+    private static final int CUSTOMERS_PER_FIRST_NAME = 10;
+
+    private ThreadModeLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1000"));
+        long latencyMs = Long.parseLong(options.getOrDefault("latencyMs", "50"));
+        String[] modes = options.getOrDefault("modes", "platform,virtual").split(",");
+
+        System.out.printf("requests=%d, concurrency=%d, simulated latency=%d ms%n", requests, concurrency, latencyMs);
+        for (String mode : modes) {
+            boolean virtual = "virtual".equals(mode.trim());
+            if (virtual && Runtime.version().feature() < 21) {
+                System.out.printf("%-8s skipped: virtual threads need Java 21, running on %s%n", mode, Runtime.version());
+                continue;
+            }
+            run(mode.trim(), virtual, requests, concurrency, latencyMs);
+        }
+    }
+
+    private static void run(String mode, boolean virtual, int requests, int concurrency, long latencyMs)
+            throws InterruptedException {
+        InFlightFilter filter = new InFlightFilter(latencyMs);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CustomerServiceSection11Application.class)
+                .profiles("h2")
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("inFlightFilter", filter))
+                .run()) {
+            seed(context.getBean(CustomerRepository.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            // warm-up: JIT, connection pool, Hibernate query plans
+            fire(client, port, Math.min(requests, 2_000), Math.min(concurrency, 100), new AtomicLong());
+            filter.reset();
+
+            AtomicLong errors = new AtomicLong();
+            long start = System.nanoTime();
+            long[] latencies = fire(client, port, requests, concurrency, errors);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%-8s p50=%6.1f ms  p99=%7.1f ms  max=%7.1f ms  throughput=%7.0f req/s  max in-flight=%d  errors=%d%n",
+                    mode, millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                    millis(latencies[latencies.length - 1]), requests / seconds, filter.maxInFlight.get(), errors.get());
+        }
+    }
+
+    private static long[] fire(HttpClient client, int port, int requests, int concurrency, AtomicLong errors)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        long[] latencies = new long[requests];
+        List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/api/customer/v1/getByFirstName/first" + (i % (CUSTOMERS / CUSTOMERS_PER_FIRST_NAME))))
+                    .timeout(Duration.ofMinutes(2))
+                    .build();
+            permits.acquire();
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        permits.release();
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        return latencies;
+    }
+
+    private static void seed(CustomerRepository customerRepository) {
+        List<CustomerModel> models = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            models.add(CustomerMapper.toCustomerModel(CustomerRequest.builder()
+                    .userName("user" + i)
+                    .firstName("first" + (i / CUSTOMERS_PER_FIRST_NAME))
+                    .lastName("last" + i)
+                    .customerAge(30)
+                    .customerMobileNumber(String.format("9%09d", i))
+                    .customerEmailAddress("user" + i + "@example.com")
+                    .customerAddress("Street " + i)
+                    .build()));
+        }
+        customerRepository.deleteAllInBatch();
+        customerRepository.saveAll(models);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Simulates downstream latency and tracks how many requests the server handles at the same time.
+     */
+    private static final class InFlightFilter implements Filter {
+
+        private final long latencyMs;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private InFlightFilter(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latencyMs);
+                chain.doFilter(request, response);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private void reset() {
+            maxInFlight.set(0);
+        }
+    }
+}
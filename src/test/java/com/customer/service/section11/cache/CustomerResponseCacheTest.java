@@ -0,0 +1,74 @@
+package com.customer.service.section11.cache;
+
+import com.customer.service.section11.response.CustomerResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.customer.service.section11.constant.CustomerConstant.CUSTOMERS_BY_EMAIL_CACHE;
+import static com.customer.service.section11.constant.CustomerConstant.CUSTOMERS_BY_MOBILE_CACHE;
+import static com.customer.service.section11.constant.CustomerConstant.CUSTOMERS_BY_USER_NAME_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that a value loaded before a write and put after the write's eviction is not served afterwards,
+ * and that keys are matched case-insensitively like the database does.
+ */
+class CustomerResponseCacheTest {
+
+    private final CustomerResponseCache cache = new CustomerResponseCache(new CaffeineCacheManager(
+            CUSTOMERS_BY_MOBILE_CACHE, CUSTOMERS_BY_USER_NAME_CACHE, CUSTOMERS_BY_EMAIL_CACHE));
+
+    @Test
+    void loadOverlappingAnEvictionIsNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        CompletableFuture<CustomerResponse> staleRead = CompletableFuture.supplyAsync(() ->
+                cache.getByMobile("m-1", () -> {
+                    loading.countDown();
+                    await(evicted);
+                    return customer("Old Street");
+                }));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The write commits and evicts while the read still holds the old row.
+        cache.evict("u-1", "m-1", "e-1");
+        evicted.countDown();
+        assertThat(staleRead.get(10, TimeUnit.SECONDS).getCustomerAddress()).isEqualTo("Old Street");
+
+        assertThat(cache.getByMobile("m-1", () -> customer("New Street")).getCustomerAddress())
+                .isEqualTo("New Street");
+        assertThat(cache.getByMobile("m-1", () -> customer("Unused")).getCustomerAddress())
+                .isEqualTo("New Street");
+    }
+
+    @Test
+    void keysDifferingOnlyInCaseShareAnEntry() {
+        cache.getByUserName("u-1", () -> customer("Old Street"));
+        assertThat(cache.getByUserName("U-1", () -> customer("Unused")).getCustomerAddress()).isEqualTo("Old Street");
+
+        cache.evict("U-1", "M-1", "E-1");
+        assertThat(cache.getByUserName("u-1", () -> customer("New Street")).getCustomerAddress())
+                .isEqualTo("New Street");
+    }
+
+    private static CustomerResponse customer(String address) {
+        return CustomerResponse.builder()
+                .userName("u-1")
+                .customerMobileNumber("m-1")
+                .customerEmailAddress("e-1")
+                .customerAddress(address)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.customer.service.section11.controller;
+
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.customer.service.section11.sql.SqlStatementMatchers.sqlStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the single-customer lookups answer an unchanged poll with {@code 304 Not Modified}
+ * and no SQL, and hand out a new ETag once the customer changes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class CustomerControllerConditionalGetTest {
+
+    private static final String BASE_URL = "/api/customer/v1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    private String key;
+
+    @BeforeEach
+    void seedCustomer() {
+        key = UUID.randomUUID().toString().substring(0, 8);
+        customerService.createCustomer(CustomerRequest.builder()
+                .userName("u-" + key)
+                .firstName("First-" + key)
+                .lastName("Last-" + key)
+                .customerAge(30)
+                .customerMobileNumber("m-" + key)
+                .customerEmailAddress(key + "@example.com")
+                .customerAddress("Street 1")
+                .build());
+    }
+
+    @Test
+    void unchangedCustomerIsNotModified() throws Exception {
+        String eTag = mockMvc.perform(get(BASE_URL + "/getByMobile/m-" + key))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"").doesNotStartWith("W/");
+
+        mockMvc.perform(get(BASE_URL + "/getByMobile/m-" + key).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""))
+                .andExpect(sqlStatements(0));
+    }
+
+    @Test
+    void changedCustomerGetsANewETag() throws Exception {
+        String eTag = mockMvc.perform(get(BASE_URL + "/getByUserName/u-" + key))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        customerService.updateStatusByMobile("m-" + key, CustomerStatus.INACTIVE);
+
+        String changed = mockMvc.perform(get(BASE_URL + "/getByUserName/u-" + key).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(eTag);
+    }
+}
@@ -0,0 +1,209 @@
+package com.customer.service.section11.controller;
+
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.customer.service.section11.sql.SqlStatementMatchers.sqlStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the exact number of SQL statements each {@link CustomerController} endpoint runs, so an extra query
+ * fails the build instead of reaching production. Runs with budgets enforced ({@code REJECT} mode).
+ * <p>
+ * Statements are counted at the JDBC level, so every write includes the outbox INSERT, and batch creation counts its
+ * key query, the {@code JdbcTemplate} INSERT batch and the outbox batch.
+ */
+@SpringBootTest(properties = {
+        "customer.sql-budget.mode=REJECT",
+        "customer.sql-budget.endpoints.CustomerController.getByFirstNameIs=0",
+        // New keys must never be false positives of the key filter here, or the pinned counts would vary.
+        "customer.key-filter.expected-insertions=100000",
+        "customer.key-filter.false-positive-probability=1e-9"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class CustomerControllerSqlBudgetTest {
+
+    private static final String BASE_URL = "/api/customer/v1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String key;
+
+    @BeforeEach
+    void seedCustomer() {
+        key = UUID.randomUUID().toString().substring(0, 8);
+        customerService.createCustomer(request(key));
+    }
+
+    @Test
+    void createCustomer() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/create").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request(key + "n"))))
+                .andExpect(status().isCreated())
+                .andExpect(sqlStatements(2));
+    }
+
+    @Test
+    void duplicateCustomerIsStillChecked() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/create").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request(key))))
+                .andExpect(status().isConflict())
+                .andExpect(sqlStatements(1));
+    }
+
+    @Test
+    void createCustomers() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/create/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request(key + "a"), request(key + "b"), request(key)))))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(3));
+    }
+
+    @Test
+    void getCustomersPage() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/getAllData/page").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(1));
+    }
+
+    @Test
+    void filterCustomers() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/filter").param("lastName", "Last-" + key).param("minAge", "18")
+                        .param("sort", "createdDate,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.customers[0].userName").value("u-" + key))
+                .andExpect(sqlStatements(1));
+    }
+
+    @Test
+    void lookupsHitTheDatabaseOnceThenTheCache() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/getByMobile/m-" + key)).andExpect(status().isOk()).andExpect(sqlStatements(1));
+        mockMvc.perform(get(BASE_URL + "/getByMobile/m-" + key)).andExpect(status().isOk()).andExpect(sqlStatements(0));
+        mockMvc.perform(get(BASE_URL + "/getByUserName/u-" + key)).andExpect(status().isOk()).andExpect(sqlStatements(1));
+        mockMvc.perform(get(BASE_URL + "/getByEmailAddress/" + key + "@example.com"))
+                .andExpect(status().isOk()).andExpect(sqlStatements(1));
+    }
+
+    @Test
+    void updateCustomer() throws Exception {
+        CustomerRequest update = request(key);
+        update.setCustomerAddress("Street 2");
+        mockMvc.perform(put(BASE_URL + "/update").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(3));
+    }
+
+    @Test
+    void deleteCustomer() throws Exception {
+        mockMvc.perform(delete(BASE_URL + "/delete/m-" + key))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(3));
+    }
+
+    @Test
+    void updateMobileNumber() throws Exception {
+        mockMvc.perform(patch(BASE_URL + "/updateMobileNumber/u-" + key + "/m2-" + key))
+                .andExpect(status().isCreated())
+                .andExpect(sqlStatements(3));
+    }
+
+    @Test
+    void updateStatusByMobile() throws Exception {
+        mockMvc.perform(patch(BASE_URL + "/status/m-" + key + "/INACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(3));
+    }
+
+    @Test
+    void updateStatusInBulk() throws Exception {
+        mockMvc.perform(patch(BASE_URL + "/status/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "mobileNumbers", List.of("m-" + key, "missing-" + key), "status", "INACTIVE"))))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(3));
+    }
+
+    @Test
+    void invalidBulkStatusRequestIsRejectedBeforeAnyQuery() throws Exception {
+        List<String> withNull = new ArrayList<>(List.of("m-" + key));
+        withNull.add(null);
+        for (Map<String, Object> body : List.<Map<String, Object>>of(
+                Map.of("status", "INACTIVE"),
+                Map.of("mobileNumbers", withNull, "status", "INACTIVE"),
+                Map.of("mobileNumbers", List.of("m-" + key)))) {
+            mockMvc.perform(patch(BASE_URL + "/status/bulk").contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(body)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(sqlStatements(0));
+        }
+    }
+
+    @Test
+    void nameSearches() throws Exception {
+        String names = "/Last-" + key + "/First-" + key;
+        mockMvc.perform(get(BASE_URL + "/getDistinctByLastNameAndFirstName" + names)).andExpect(sqlStatements(1));
+        mockMvc.perform(get(BASE_URL + "/getByLastNameAndFirstName" + names)).andExpect(sqlStatements(1));
+        mockMvc.perform(get(BASE_URL + "/getByLastNameOrFirstName" + names)).andExpect(sqlStatements(1));
+        mockMvc.perform(get(BASE_URL + "/getByFirstName/First-" + key)).andExpect(sqlStatements(1));
+        mockMvc.perform(get(BASE_URL + "/getByFirstNameEquals/First-" + key)).andExpect(sqlStatements(1));
+    }
+
+    @Test
+    void indexSearchesDoNotTouchTheDatabase() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/search/prefix").param("prefix", "First-" + key))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(0));
+        mockMvc.perform(get(BASE_URL + "/search").param("query", key))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(0));
+    }
+
+    @Test
+    void requestOverBudgetIsRejected() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/getByFirstNameIs/First-" + key))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value(
+                        "CustomerController.getByFirstNameIs exceeded its budget of 0 SQL statements"));
+    }
+
+    private static CustomerRequest request(String key) {
+        return CustomerRequest.builder()
+                .userName("u-" + key)
+                .firstName("First-" + key)
+                .lastName("Last-" + key)
+                .customerAge(30)
+                .customerMobileNumber("m-" + key)
+                .customerEmailAddress(key + "@example.com")
+                .customerAddress("Street 1")
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.customer.service.section11.controller;
+
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that one lookup is visible at every layer in the Prometheus scrape, with histogram buckets
+ * for the endpoint, the service method and the repository method, next to the Hibernate and Hikari metrics.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("h2")
+class CustomerMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void lookupIsTimedAtEveryLayer() throws Exception {
+        customerService.createCustomer(CustomerRequest.builder()
+                .userName("metrics-user")
+                .firstName("Metrics")
+                .lastName("Test")
+                .customerAge(30)
+                .customerMobileNumber("metrics-0001")
+                .customerEmailAddress("metrics@example.com")
+                .customerAddress("Street 1")
+                .build());
+        mockMvc.perform(get("/api/customer/v1/getByMobile/metrics-0001")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .containsPattern("http_server_requests_seconds_bucket\\{[^}]*uri=\"/api/customer/v1/getByMobile/\\{customerMobileNumber}\"")
+                .containsPattern("customer_service_seconds_bucket\\{[^}]*method=\"getByCustomerMobileNumber\"")
+                .containsPattern("spring_data_repository_invocations_seconds_bucket\\{[^}]*method=\"findResponseByCustomerMobileNumber\"")
+                .containsPattern("hikaricp_connections_acquire_seconds_bucket\\{")
+                .contains("hibernate_statements_total", "hibernate_flushes_total", "hibernate_entities_loads_total");
+    }
+}
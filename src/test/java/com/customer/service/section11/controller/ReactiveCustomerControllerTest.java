@@ -0,0 +1,128 @@
+package com.customer.service.section11.controller;
+
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the reactive read API against the embedded H2 database through R2DBC, on rows written through JPA.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ReactiveCustomerControllerTest {
+
+    private static final String BASE_URL = "/api/customer/v1/reactive";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void seedCustomers() {
+        customerRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> CustomerMapper.toCustomerModel(CustomerRequest.builder()
+                        .userName("reactive" + i)
+                        .firstName("Reactive")
+                        .lastName("Last" + i % 2)
+                        .customerAge(30)
+                        .customerMobileNumber("777000000" + i)
+                        .customerEmailAddress("reactive" + i + "@example.com")
+                        .customerAddress("Street " + i)
+                        .build()))
+                .toList());
+    }
+
+    @AfterEach
+    void deleteCustomers() {
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getByMobileReturnsCustomer() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/getByMobile/7770000001"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.userName").value("reactive1"))
+                .andExpect(jsonPath("$.data.userStatus").value("ACTIVE"))
+                .andExpect(jsonPath("$.data.password").doesNotExist());
+    }
+
+    @Test
+    void getByMobileOfUnknownCustomerIsNotFound() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/getByMobile/0000000000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("0000000000 Customer does not exist"));
+    }
+
+    @Test
+    void getByFirstNameStreamsOneJsonLinePerCustomer() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/getByFirstName/Reactive")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(3).allSatisfy(line -> assertThat(line).contains("\"firstName\":\"Reactive\""));
+    }
+
+    @Test
+    void getByFirstNameWithoutMatchesStreamsNothing() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/getByFirstName/Nobody")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getByLastNameAndFirstNameStreamsMatchingCustomers() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/getDistinctByLastNameAndFirstName/Last0/Reactive")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(2);
+    }
+}
@@ -0,0 +1,135 @@
+package com.customer.service.section11.datasource;
+
+import com.customer.service.section11.request.CustomerRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two embedded databases: the usual H2 database as the primary and a second,
+ * unreplicated one as the replica. A customer that exists on only one of them shows which route a request took.
+ */
+@SpringBootTest(properties = {
+        "customer.datasource.replicas[0].url=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "customer.datasource.replicas[0].username=sa",
+        "customer.datasource.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:customer_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String BASE_URL = "/api/customer/v1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    @Test
+    void writesGoToThePrimaryAndReadsToTheReplica() throws Exception {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        create(key);
+
+        mockMvc.perform(get(BASE_URL + "/getByMobile/m-" + key)).andExpect(status().isNotFound());
+
+        replica.update("insert into customer_details_section11 (user_name, first_name, last_name, customer_mobile_number, "
+                + "customer_email_address, user_status) values (?, 'Replica', 'Row', ?, ?, 'ACTIVE')",
+                "u-" + key, "m-" + key, key + "@example.com");
+        mockMvc.perform(get(BASE_URL + "/getByMobile/m-" + key))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.firstName").value("Replica"));
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimary() throws Exception {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        Cookie pinned = create(key);
+
+        mockMvc.perform(get(BASE_URL + "/getByUserName/u-" + key)
+                        .cookie(new Cookie(ReadYourWritesFilter.COOKIE, "0")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(BASE_URL + "/getByUserName/u-" + key).cookie(pinned))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.firstName").value("First-" + key));
+    }
+
+    @Test
+    void pinnedClientNeverGetsAReplicaValueFromTheCache() throws Exception {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        Cookie pinned = create(key);
+        // The replica still holds an older version of the customer.
+        replica.update("insert into customer_details_section11 (user_name, first_name, last_name, customer_mobile_number, "
+                + "customer_email_address, user_status) values (?, 'Stale', 'Row', ?, ?, 'ACTIVE')",
+                "u-" + key, "m-" + key, key + "@example.com");
+
+        mockMvc.perform(get(BASE_URL + "/getByMobile/m-" + key))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.firstName").value("Stale"));
+        mockMvc.perform(get(BASE_URL + "/getByMobile/m-" + key).cookie(pinned))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.firstName").value("First-" + key));
+    }
+
+    @Test
+    void poolMetricsAreReportedPerRoute() throws Exception {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        create(key);
+        mockMvc.perform(get(BASE_URL + "/getByMobile/m-" + key)).andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "primary").timer().count())
+                .isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "replica-1").timer().count())
+                .isPositive();
+    }
+
+    private Cookie create(String key) throws Exception {
+        CustomerRequest request = CustomerRequest.builder()
+                .userName("u-" + key)
+                .firstName("First-" + key)
+                .lastName("Last-" + key)
+                .customerAge(30)
+                .customerMobileNumber("m-" + key)
+                .customerEmailAddress(key + "@example.com")
+                .customerAddress("Street 1")
+                .build();
+        return mockMvc.perform(post(BASE_URL + "/create").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+    }
+}
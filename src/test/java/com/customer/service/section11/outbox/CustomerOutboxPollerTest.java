@@ -0,0 +1,208 @@
+package com.customer.service.section11.outbox;
+
+import com.customer.service.section11.enums.CustomerEventType;
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.repository.CustomerOutboxRepository;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerChangesResponse;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.service.CustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that every committed customer change reaches the outbox consumers once and in order, that rolled-back
+ * changes never do, that a change committed after a later one is not skipped, and that a failing consumer gets its
+ * batch again. Polls are triggered by the test.
+ */
+@SpringBootTest(properties = "customer.outbox.poll-interval=1h")
+@ActiveProfiles("h2")
+class CustomerOutboxPollerTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerOutboxPoller poller;
+
+    @Autowired
+    private RecordingConsumer consumer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomerOutboxRepository outboxRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private String key;
+
+    @BeforeEach
+    void createCustomer() {
+        key = UUID.randomUUID().toString().substring(0, 8);
+        customerService.createCustomer(request(key, "Street 1"));
+    }
+
+    @Test
+    void committedChangesAreDeliveredOnceInOrder() {
+        customerService.updateCustomer(request(key, "Street 2"));
+        customerService.updateStatusByMobile("m-" + key, CustomerStatus.INACTIVE);
+        customerService.updateStatusInBulk(List.of("m-" + key), CustomerStatus.ACTIVE);
+        customerService.updateStatusInBulk(List.of("m-" + key), CustomerStatus.ACTIVE);
+        customerService.updateMobileNumber("u-" + key, "m2-" + key);
+
+        assertThat(poller.poll()).isPositive();
+        assertThat(eventsOf(key)).extracting(CustomerOutboxEvent::eventType).containsExactly(
+                CustomerEventType.CREATED,
+                CustomerEventType.UPDATED,
+                CustomerEventType.STATUS_CHANGED,
+                CustomerEventType.STATUS_CHANGED,
+                CustomerEventType.MOBILE_CHANGED);
+        assertThat(eventsOf(key).get(3).customer().getUserStatus()).isEqualTo(CustomerStatus.ACTIVE);
+        assertThat(eventsOf(key).get(4).customer().getCustomerMobileNumber()).isEqualTo("m2-" + key);
+
+        poller.poll();
+        assertThat(eventsOf(key)).hasSize(5);
+        long highWaterMark = (long) meterRegistry.get("customer.outbox.high.water.mark")
+                .tag("consumer", RecordingConsumer.NAME).gauge().value();
+        assertThat(highWaterMark).isEqualTo(consumer.events.get(consumer.events.size() - 1).sequence());
+
+        CustomerChangesResponse feed = customerService.getChangesAfter(eventsOf(key).get(0).sequence() - 1, 2);
+        assertThat(feed.events()).extracting(CustomerOutboxEvent::sequence)
+                .containsExactly(eventsOf(key).get(0).sequence(), feed.nextCursor());
+        assertThat(feed.hasNext()).isTrue();
+    }
+
+    @Test
+    void rolledBackChangeIsNotRecorded() {
+        transactionTemplate.executeWithoutResult(status -> {
+            customerService.updateCustomer(request(key, "Street 2"));
+            status.setRollbackOnly();
+        });
+
+        poller.poll();
+        assertThat(eventsOf(key)).extracting(CustomerOutboxEvent::eventType).containsExactly(CustomerEventType.CREATED);
+    }
+
+    @Test
+    void changeCommittedLateIsDeliveredOnTheNextPoll() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CustomerResponse customer = CustomerMapper.toCustomerResponse(
+                customerRepository.findByUserName("u-" + key).orElseThrow());
+        customer.setCustomerAddress("Late Street");
+        CustomerOutboxEvent late = new CustomerOutboxEvent(null, null, CustomerEventType.UPDATED, customer, null);
+        CompletableFuture<Void> slowTransaction = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    outboxRepository.insertAll(List.of(late));
+                    inserted.countDown();
+                    await(commit);
+                }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Gets a higher event id than the open transaction's event, but commits first.
+        customerService.updateCustomer(request(key, "Street 2"));
+        poller.poll();
+        assertThat(eventsOf(key)).extracting(event -> event.customer().getCustomerAddress())
+                .containsExactly("Street 1", "Street 2");
+
+        commit.countDown();
+        slowTransaction.get(10, TimeUnit.SECONDS);
+        poller.poll();
+        List<CustomerOutboxEvent> events = eventsOf(key);
+        assertThat(events).extracting(event -> event.customer().getCustomerAddress())
+                .containsExactly("Street 1", "Street 2", "Late Street");
+        assertThat(events.get(2).eventId()).isLessThan(events.get(1).eventId());
+        assertThat(events.get(2).sequence()).isGreaterThan(events.get(1).sequence());
+    }
+
+    @Test
+    void failedBatchIsDeliveredAgain() {
+        consumer.failNext.set(true);
+        poller.poll();
+        assertThat(eventsOf(key)).isEmpty();
+
+        poller.poll();
+        assertThat(eventsOf(key)).hasSize(1);
+    }
+
+    private List<CustomerOutboxEvent> eventsOf(String key) {
+        return consumer.events.stream()
+                .filter(event -> event.customer().getUserName().equals("u-" + key))
+                .toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static CustomerRequest request(String key, String address) {
+        return CustomerRequest.builder()
+                .userName("u-" + key)
+                .firstName("First-" + key)
+                .lastName("Last-" + key)
+                .customerAge(30)
+                .customerMobileNumber("m-" + key)
+                .customerEmailAddress(key + "@example.com")
+                .customerAddress(address)
+                .build();
+    }
+
+    @TestConfiguration
+    static class ConsumerConfig {
+
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+    }
+
+    static class RecordingConsumer implements CustomerEventConsumer {
+
+        static final String NAME = "outbox-poller-test-" + UUID.randomUUID();
+
+        final List<CustomerOutboxEvent> events = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failNext = new AtomicBoolean();
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public void accept(List<CustomerOutboxEvent> batch) {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("Consumer unavailable");
+            }
+            events.addAll(batch);
+        }
+    }
+}
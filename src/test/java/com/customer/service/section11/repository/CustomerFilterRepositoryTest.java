@@ -0,0 +1,125 @@
+package com.customer.service.section11.repository;
+
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.exceptions.InvalidRequestException;
+import com.customer.service.section11.exceptions.UnsupportedSortException;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.request.CustomerFilterRequest;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that the filter search combines its filters, pages and sorts correctly, and that requests differing only
+ * in values or in which side of a range is open share one JPQL statement.
+ */
+@DataJpaTest
+@Import(CustomerFilterRepository.class)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerFilterRepositoryTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerFilterRepository customerFilterRepository;
+
+    @BeforeEach
+    void seedCustomers() {
+        List<CustomerModel> customers = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            CustomerModel customer = CustomerMapper.toCustomerModel(CustomerRequest.builder()
+                    .userName("filter-user" + i)
+                    .firstName("first" + i % 3)
+                    .lastName("filter-last")
+                    .customerAge(20 + i)
+                    .customerMobileNumber("filter-mobile" + i)
+                    .customerEmailAddress("filter-user" + i + "@example.com")
+                    .customerAddress("Street " + i)
+                    .build());
+            customer.setUserStatus(i % 2 == 0 ? CustomerStatus.ACTIVE : CustomerStatus.INACTIVE);
+            customers.add(customer);
+        }
+        customerRepository.saveAllAndFlush(customers);
+    }
+
+    @Test
+    void filtersAreCombinedPagedAndSorted() {
+        CustomerFilterRequest filter = CustomerFilterRequest.builder()
+                .lastName("filter-last")
+                .userStatus(CustomerStatus.ACTIVE)
+                .minAge(30)
+                .createdTo(LocalDateTime.now().plusDays(1))
+                .build();
+        Sort byAgeDescending = Sort.by(Sort.Direction.DESC, "customerAge");
+
+        // ACTIVE customers are the even ones, aged 20, 22, ..., 48; 30 and over leaves 30..48.
+        Slice<CustomerResponse> first = customerFilterRepository.findSlice(filter, PageRequest.of(0, 4, byAgeDescending));
+        assertThat(first.getContent()).extracting(CustomerResponse::getCustomerAge).containsExactly(48, 46, 44, 42);
+        assertThat(first.hasNext()).isTrue();
+
+        Slice<CustomerResponse> last = customerFilterRepository.findSlice(filter, PageRequest.of(2, 4, byAgeDescending));
+        assertThat(last.getContent()).extracting(CustomerResponse::getCustomerAge).containsExactly(32, 30);
+        assertThat(last.hasNext()).isFalse();
+
+        filter.setFirstName("first0");
+        filter.setMaxAge(40);
+        assertThat(customerFilterRepository.findSlice(filter, PageRequest.of(0, 10)).getContent())
+                .extracting(CustomerResponse::getUserName)
+                .containsExactly("filter-user12", "filter-user18");
+    }
+
+    @Test
+    void openRangesAndValuesShareOneStatement() {
+        Set<String> statements = Stream.of(
+                        CustomerFilterRequest.builder().minAge(18).build(),
+                        CustomerFilterRequest.builder().maxAge(65).build(),
+                        CustomerFilterRequest.builder().minAge(18).maxAge(65).build(),
+                        CustomerFilterRequest.builder().minAge(40).firstName(" ").build())
+                .map(filter -> CustomerFilterRepository.jpql(
+                        CustomerFilterRepository.parameters(filter).keySet(), Sort.by("createdDate")))
+                .collect(Collectors.toSet());
+
+        assertThat(statements).hasSize(1);
+    }
+
+    @Test
+    void unsupportedSortIsRejected() {
+        CustomerFilterRequest filter = new CustomerFilterRequest();
+
+        assertThatThrownBy(() -> customerFilterRepository.findSlice(filter, PageRequest.of(0, 10, Sort.by("password"))))
+                .isInstanceOf(UnsupportedSortException.class);
+        assertThatThrownBy(() -> customerFilterRepository.findSlice(filter,
+                PageRequest.of(0, 10, Sort.by("lastName", "firstName"))))
+                .isInstanceOf(UnsupportedSortException.class);
+    }
+
+    @Test
+    void pageBeyondTheIntOffsetIsRejected() {
+        CustomerFilterRequest filter = new CustomerFilterRequest();
+
+        assertThatThrownBy(() -> customerFilterRepository.findSlice(filter, PageRequest.of(Integer.MAX_VALUE, 2)))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,108 @@
+package com.customer.service.section11.repository;
+
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.sql.SqlCountingDataSourcePostProcessor;
+import com.customer.service.section11.sql.SqlStatementCapture;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies, on a seeded H2 table created by the Flyway migrations, that the SQL behind each
+ * name-search finder is answered through an index instead of a full table scan. The SQL is the statement Hibernate
+ * actually sends for the finder, captured through {@code SqlCountingDataSource}, including the projection
+ * finders built on {@code CUSTOMER_RESPONSE_FROM}.
+ */
+@DataJpaTest
+@Import(SqlCountingDataSourcePostProcessor.class)
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerRepositoryIndexTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seedCustomers() {
+        List<CustomerModel> customers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            customers.add(CustomerMapper.toCustomerModel(CustomerRequest.builder()
+                    .userName("user" + i)
+                    .firstName("first" + i % 50)
+                    .lastName("last" + i % 25)
+                    .customerAge(30)
+                    .customerMobileNumber("mobile" + i)
+                    .customerEmailAddress("user" + i + "@example.com")
+                    .customerAddress("Street " + i)
+                    .build()));
+        }
+        customerRepository.saveAllAndFlush(customers);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void finderUsesIndex(String finder, Consumer<CustomerRepository> call, List<Object> parameters,
+                         String expectedIndex) {
+        List<String> selects = SqlStatementCapture.selectsOf(() -> call.accept(customerRepository));
+        assertThat(selects).as("statements run by %s", finder).hasSize(1);
+
+        Query explain = entityManager.createNativeQuery("explain " + selects.get(0));
+        for (int i = 0; i < parameters.size(); i++) {
+            explain.setParameter(i + 1, parameters.get(i));
+        }
+        String plan = (String) explain.getSingleResult();
+
+        assertThat(plan)
+                .as("plan of %s", finder)
+                .containsIgnoringCase(expectedIndex)
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    static Stream<Arguments> finders() {
+        String lastFirst = "idx_customer_last_first_name";
+        String first = "idx_customer_first_name";
+        return Stream.of(
+                finder("findByLastNameAndFirstName",
+                        r -> r.findByLastNameAndFirstName("last3", "first3"), lastFirst, "last3", "first3"),
+                finder("findDistinctByLastNameAndFirstName",
+                        r -> r.findDistinctByLastNameAndFirstName("last3", "first3"), lastFirst, "last3", "first3"),
+                finder("findByFirstName", r -> r.findByFirstName("first3"), first, "first3"),
+                finder("findByFirstNameIs", r -> r.findByFirstNameIs("first3"), first, "first3"),
+                finder("findByFirstNameEquals", r -> r.findByFirstNameEquals("first3"), first, "first3"),
+                finder("findResponsesByLastNameAndFirstName",
+                        r -> r.findResponsesByLastNameAndFirstName("last3", "first3"), lastFirst, "last3", "first3"),
+                finder("findDistinctResponsesByLastNameAndFirstName",
+                        r -> r.findDistinctResponsesByLastNameAndFirstName("last3", "first3"), lastFirst,
+                        "last3", "first3"),
+                finder("findResponsesByFirstName", r -> r.findResponsesByFirstName("first3"), first, "first3"));
+    }
+
+    /**
+     * @param parameters the values bound to the statement's placeholders, in order; the finders above bind their
+     *                   arguments in the order they are passed
+     */
+    private static Arguments finder(String name, Consumer<CustomerRepository> call, String expectedIndex,
+                                    Object... parameters) {
+        return Arguments.of(name, call, List.of(parameters), expectedIndex);
+    }
+}
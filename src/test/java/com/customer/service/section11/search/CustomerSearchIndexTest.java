@@ -0,0 +1,194 @@
+package com.customer.service.section11.search;
+
+import com.customer.service.section11.event.CustomerChangedEvent;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerResponse;
+import com.customer.service.section11.response.CustomerSearchResponse;
+import com.customer.service.section11.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that customer writes reach the Lucene index in near real time and that searches match
+ * fragments, prefixes and typos, rank name matches first and page through the results, and that an index reused
+ * after a restart is rebuilt when the customers changed while it was closed or a change failed to index. Changes
+ * queued out of version order keep the newest one.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class CustomerSearchIndexTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String key;
+
+    @BeforeEach
+    void createCustomers() throws InterruptedException {
+        key = "k" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        create("Johnathan", "Doe", "Elm Street 1");
+        create("Maria", "Lopez", "Johnathan Road 7");
+        create("Peter", "Smith", "Harbour Lane 3");
+        awaitSearch(key, page -> page.totalHits() == 3);
+    }
+
+    @Test
+    void matchesEmailFragmentsPrefixesAndTypos() {
+        assertThat(customerService.searchCustomers(key + " doe", 0, 10).customers())
+                .extracting(CustomerResponse::getLastName).containsExactly("Doe");
+        assertThat(customerService.searchCustomers(key + " harb", 0, 10).customers())
+                .extracting(CustomerResponse::getFirstName).containsExactly("Peter");
+        assertThat(customerService.searchCustomers(key + " smiht", 0, 10).customers())
+                .extracting(CustomerResponse::getFirstName).containsExactly("Peter");
+    }
+
+    @Test
+    void ranksNameMatchesAboveAddressMatchesAndPages() {
+        CustomerSearchResponse first = customerService.searchCustomers(key + " johnathan", 0, 10);
+
+        assertThat(customerService.searchCustomers(key + " johnathan", 0, 1).customers())
+                .extracting(CustomerResponse::getFirstName).containsExactly("Johnathan");
+        assertThat(customerService.searchCustomers(key + " johnathan", 1, 1).customers())
+                .extracting(CustomerResponse::getFirstName).containsExactly("Maria");
+        assertThat(first.totalHits()).isEqualTo(2);
+        assertThat(first.totalHitsExact()).isTrue();
+    }
+
+    @Test
+    void updatesAreIndexedAndRebuildKeepsThem() throws InterruptedException {
+        customerService.updateCustomer(request("Pedro", "Smith", "Harbour Lane 3"));
+
+        awaitSearch(key + " pedro", page -> page.totalHits() == 1);
+        assertThat(customerService.searchCustomers(key + " peter", 0, 10).totalHits()).isZero();
+
+        assertThat(customerService.rebuildSearchIndex().join()).isGreaterThanOrEqualTo(3);
+        assertThat(customerService.searchCustomers(key + " pedro", 0, 10).customers())
+                .extracting(CustomerResponse::getCustomerAddress).containsExactly("Harbour Lane 3");
+    }
+
+    @Test
+    void reopenedIndexPicksUpWritesMadeWhileItWasClosed(@TempDir Path indexDirectory) throws Exception {
+        CustomerSearchIndex closed = new CustomerSearchIndex(customerRepository, transactionManager, indexDirectory);
+        closed.afterPropertiesSet();
+        closed.destroy();
+
+        // Written while the index is closed, like a change made by another instance.
+        customerRepository.saveAndFlush(CustomerMapper.toCustomerModel(request("Olivia", "Brown", "Mill Road 9")));
+
+        CustomerSearchIndex reopened = new CustomerSearchIndex(customerRepository, transactionManager, indexDirectory);
+        reopened.afterPropertiesSet();
+        try {
+            assertThat(reopened.search(key + " olivia", 0, 10).customers())
+                    .extracting(CustomerResponse::getLastName).containsExactly("Brown");
+        } finally {
+            reopened.destroy();
+        }
+    }
+
+    @Test
+    void olderChangeQueuedAfterANewerOneIsSkipped(@TempDir Path indexDirectory) throws Exception {
+        CustomerSearchIndex index = new CustomerSearchIndex(customerRepository, transactionManager, indexDirectory);
+        index.afterPropertiesSet();
+        try {
+            CustomerResponse customer = customerService.getByCustomerMobileNumber(key + "doe");
+            index.onCustomerChanged(new CustomerChangedEvent(customer, renamed(customer, "Newer", customer.getVersion() + 2)));
+            index.onCustomerChanged(new CustomerChangedEvent(customer, renamed(customer, "Older", customer.getVersion() + 1)));
+            indexMarker(index);
+
+            assertThat(index.search(key + " newer", 0, 10).totalHits()).isEqualTo(1);
+            assertThat(index.search(key + " older", 0, 10).totalHits()).isZero();
+        } finally {
+            index.destroy();
+        }
+    }
+
+    @Test
+    void changeThatFailsToIndexMakesTheNextStartRebuild(@TempDir Path indexDirectory) throws Exception {
+        CustomerSearchIndex index = new CustomerSearchIndex(customerRepository, transactionManager, indexDirectory);
+        index.afterPropertiesSet();
+        index.onCustomerChanged(new CustomerChangedEvent(null, CustomerResponse.builder().firstName("Broken").build()));
+        // Not in the database: it only survives a restart that reuses the index.
+        indexMarker(index);
+        index.destroy();
+
+        CustomerSearchIndex reopened = new CustomerSearchIndex(customerRepository, transactionManager, indexDirectory);
+        reopened.afterPropertiesSet();
+        try {
+            assertThat(reopened.search(key + " marker", 0, 10).totalHits()).isZero();
+        } finally {
+            reopened.destroy();
+        }
+    }
+
+    /**
+     * Queues a change for a customer that exists only in the index and waits until it is searchable, so every change
+     * queued before it has been applied.
+     */
+    private void indexMarker(CustomerSearchIndex index) throws InterruptedException {
+        index.onCustomerChanged(new CustomerChangedEvent(null, CustomerResponse.builder()
+                .customerId(-1L).userName(key + "-marker").firstName("Marker").version(0L).build()));
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (index.search(key + " marker", 0, 10).totalHits() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(25);
+        }
+        assertThat(index.search(key + " marker", 0, 10).totalHits()).isEqualTo(1);
+    }
+
+    private static CustomerResponse renamed(CustomerResponse customer, String firstName, long version) {
+        return CustomerResponse.builder()
+                .customerId(customer.getCustomerId())
+                .userName(customer.getUserName())
+                .firstName(firstName)
+                .lastName(customer.getLastName())
+                .version(version)
+                .build();
+    }
+
+    private CustomerSearchResponse awaitSearch(String query, Predicate<CustomerSearchResponse> condition)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        CustomerSearchResponse page = customerService.searchCustomers(query, 0, 10);
+        while (!condition.test(page) && System.nanoTime() < deadline) {
+            Thread.sleep(25);
+            page = customerService.searchCustomers(query, 0, 10);
+        }
+        assertThat(condition).as("search for '%s'", query).accepts(page);
+        return page;
+    }
+
+    private void create(String firstName, String lastName, String address) {
+        customerService.createCustomer(request(firstName, lastName, address));
+    }
+
+    private CustomerRequest request(String firstName, String lastName, String address) {
+        String lastNameKey = lastName.toLowerCase();
+        return CustomerRequest.builder()
+                .userName(key + "-" + lastNameKey)
+                .firstName(firstName)
+                .lastName(lastName)
+                .customerAge(30)
+                .customerMobileNumber(key + lastNameKey)
+                .customerEmailAddress(firstName.toLowerCase() + "." + lastNameKey + "@" + key + ".example.com")
+                .customerAddress(address)
+                .build();
+    }
+}
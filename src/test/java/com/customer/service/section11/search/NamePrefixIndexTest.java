@@ -0,0 +1,69 @@
+package com.customer.service.section11.search;
+
+import com.customer.service.section11.response.NameSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies prefix matching, ordering and counting of {@link NamePrefixIndex}, both on the sorted arrays
+ * and on the overlay of changes made after loading.
+ */
+class NamePrefixIndexTest {
+
+    @Test
+    void searchMatchesPrefixCaseInsensitivelyInAlphabeticalOrder() {
+        NamePrefixIndex index = new NamePrefixIndex(100);
+        index.load(Arrays.asList("Maria", "mark", "Martin", "maria", "Anna", null, " ", "Mark"));
+
+        assertThat(index.search("MAR", 10)).containsExactly(
+                new NameSuggestion("Maria", 2),
+                new NameSuggestion("mark", 2),
+                new NameSuggestion("Martin", 1));
+        assertThat(index.search("mart", 10)).containsExactly(new NameSuggestion("Martin", 1));
+        assertThat(index.search("z", 10)).isEmpty();
+    }
+
+    @Test
+    void searchStopsAtLimit() {
+        NamePrefixIndex index = new NamePrefixIndex(100);
+        index.load(List.of("a1", "a2", "a3", "a4", "b1"));
+
+        assertThat(index.search("a", 2)).extracting(NameSuggestion::name).containsExactly("a1", "a2");
+    }
+
+    @Test
+    void overlayChangesAreMergedIntoSearch() {
+        NamePrefixIndex index = new NamePrefixIndex(100);
+        index.load(List.of("Bella", "Bob", "Bob"));
+
+        index.add("Benny");
+        index.add("Bob");
+        index.remove("Bella");
+
+        assertThat(index.search("b", 10)).containsExactly(
+                new NameSuggestion("Benny", 1),
+                new NameSuggestion("Bob", 3));
+    }
+
+    @Test
+    void compactionKeepsCounts() {
+        NamePrefixIndex index = new NamePrefixIndex(2);
+        index.load(List.of("Carl", "Cleo"));
+
+        index.add("Cara");
+        index.add("Cora");
+        index.add("Cleo");
+        index.remove("Carl");
+        index.add("Cyra");
+
+        assertThat(index.search("c", 10)).containsExactly(
+                new NameSuggestion("Cara", 1),
+                new NameSuggestion("Cleo", 2),
+                new NameSuggestion("Cora", 1),
+                new NameSuggestion("Cyra", 1));
+    }
+}
@@ -0,0 +1,103 @@
+package com.customer.service.section11.service.impl;
+
+import com.customer.service.section11.bloom.CustomerKeyFilter;
+import com.customer.service.section11.enums.CustomerBatchStatus;
+import com.customer.service.section11.enums.CustomerKeyField;
+import com.customer.service.section11.mapper.CustomerMapper;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.response.CustomerBatchResult;
+import com.customer.service.section11.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that batch creation reports every collision as a {@code DUPLICATE} row, including keys the
+ * key filter has not seen, instead of failing the whole batch on the unique constraints, and that rows are
+ * compared like the constraints compare them: case-insensitively, with any number of missing keys.
+ */
+@SpringBootTest(properties = {
+        "customer.key-filter.expected-insertions=100000",
+        "customer.key-filter.false-positive-probability=1e-9"
+})
+@ActiveProfiles("h2")
+class CustomerServiceImplBatchTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerKeyFilter customerKeyFilter;
+
+    private String key;
+
+    @BeforeEach
+    void newKey() {
+        key = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void keyMissingFromTheFilterIsReportedAsDuplicate() {
+        // Saved without going through the service, like a customer created by another instance.
+        customerRepository.saveAndFlush(CustomerMapper.toCustomerModel(request(key)));
+        assertThat(customerKeyFilter.mightContain(CustomerKeyField.USER_NAME, "u-" + key)).isFalse();
+
+        CustomerRequest sameUserName = request(key + "b");
+        sameUserName.setUserName("u-" + key);
+        List<CustomerBatchResult> results = customerService.createCustomers(List.of(sameUserName, request(key + "c")));
+
+        assertThat(results).extracting(CustomerBatchResult::status)
+                .containsExactly(CustomerBatchStatus.DUPLICATE, CustomerBatchStatus.CREATED);
+        assertThat(customerRepository.findByUserName("u-" + key + "c")).isPresent();
+    }
+
+    @Test
+    void rowsAreComparedLikeTheUniqueConstraints() {
+        CustomerRequest first = request(key + "a");
+        first.setCustomerEmailAddress(null);
+        first.setCustomerMobileNumber(null);
+        CustomerRequest second = request(key + "b");
+        second.setCustomerEmailAddress(null);
+        second.setCustomerMobileNumber(null);
+        CustomerRequest sameUserNameInUpperCase = request(key + "c");
+        sameUserNameInUpperCase.setUserName(first.getUserName().toUpperCase());
+
+        List<CustomerBatchResult> results = customerService.createCustomers(
+                List.of(first, second, sameUserNameInUpperCase));
+
+        assertThat(results).extracting(CustomerBatchResult::status).containsExactly(
+                CustomerBatchStatus.CREATED, CustomerBatchStatus.CREATED, CustomerBatchStatus.DUPLICATE);
+    }
+
+    @Test
+    void filterMatchesKeysThatDifferOnlyInCase() {
+        customerService.createCustomer(request(key));
+
+        assertThat(customerKeyFilter.mightContain(CustomerKeyField.USER_NAME, "U-" + key.toUpperCase())).isTrue();
+        assertThat(customerKeyFilter.mightContain(CustomerKeyField.EMAIL_ADDRESS, key.toUpperCase() + "@EXAMPLE.COM"))
+                .isTrue();
+    }
+
+    private static CustomerRequest request(String key) {
+        return CustomerRequest.builder()
+                .userName("u-" + key)
+                .firstName("First-" + key)
+                .lastName("Last-" + key)
+                .customerAge(30)
+                .customerMobileNumber("m-" + key)
+                .customerEmailAddress(key + "@example.com")
+                .customerAddress("Street 1")
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.customer.service.section11.service.impl;
+
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.service.CustomerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that concurrent writes to one customer are detected through its version and retried
+ * on the current row, so no change is silently lost.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class CustomerServiceImplConflictTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String key;
+
+    @BeforeEach
+    void createCustomer() {
+        key = UUID.randomUUID().toString().substring(0, 8);
+        customerService.createCustomer(request("Street 0"));
+    }
+
+    @Test
+    void writeThatLosesTheRaceIsRetriedOnTheCurrentRow() throws Exception {
+        double retriedBefore = conflicts("updateStatusByMobile", "retried");
+        CompletableFuture<?> statusUpdate = new CompletableFuture<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            CustomerModel model = customerRepository.findByCustomerMobileNumber("m-" + key).orElseThrow();
+            model.setCustomerAddress("Street 1");
+            customerRepository.flush();
+
+            // Reads the committed row, then waits for this transaction's row lock and finds the version changed.
+            CompletableFuture.runAsync(() -> customerService.updateStatusByMobile("m-" + key, CustomerStatus.INACTIVE))
+                    .whenComplete((result, failure) -> {
+                        if (failure == null) {
+                            statusUpdate.complete(null);
+                        } else {
+                            statusUpdate.completeExceptionally(failure);
+                        }
+                    });
+            sleep(300);
+        });
+        statusUpdate.get();
+
+        CustomerModel model = customerRepository.findByCustomerMobileNumber("m-" + key).orElseThrow();
+        assertThat(model.getCustomerAddress()).isEqualTo("Street 1");
+        assertThat(model.getUserStatus()).isEqualTo(CustomerStatus.INACTIVE);
+        assertThat(model.getVersion()).isEqualTo(2);
+        assertThat(conflicts("updateStatusByMobile", "retried")).isEqualTo(retriedBefore + 1);
+    }
+
+    @Test
+    void concurrentUpdatesOfOneCustomerAreNeverLost() throws Exception {
+        int writers = 4;
+        int updatesPerWriter = 10;
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger gaveUp = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < updatesPerWriter; i++) {
+                        try {
+                            customerService.updateCustomer(request("Street " + writer + "-" + i));
+                            applied.incrementAndGet();
+                        } catch (OptimisticLockingFailureException e) {
+                            gaveUp.incrementAndGet();
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Every update that returned normally bumped the version exactly once; the others reported their conflict.
+        CustomerModel model = customerRepository.findByCustomerMobileNumber("m-" + key).orElseThrow();
+        assertThat(applied.get() + gaveUp.get()).isEqualTo(writers * updatesPerWriter);
+        assertThat(model.getVersion()).isEqualTo(applied.get());
+        assertThat(applied.get()).isGreaterThan(gaveUp.get());
+    }
+
+    private double conflicts(String method, String outcome) {
+        Counter counter = meterRegistry.find("customer.write.conflicts")
+                .tag("method", method).tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private CustomerRequest request(String address) {
+        return CustomerRequest.builder()
+                .userName("u-" + key)
+                .firstName("First-" + key)
+                .lastName("Last-" + key)
+                .customerAge(30)
+                .customerMobileNumber("m-" + key)
+                .customerEmailAddress(key + "@example.com")
+                .customerAddress(address)
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
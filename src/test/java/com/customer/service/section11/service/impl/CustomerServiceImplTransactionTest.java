@@ -0,0 +1,111 @@
+package com.customer.service.section11.service.impl;
+
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.event.CustomerChangedEvent;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.service.CustomerService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the write paths run as single transactions relying on dirty checking:
+ * one SELECT to load the customer and one UPDATE that only writes the changed columns. A write that changes
+ * nothing runs no UPDATE and publishes no {@link CustomerChangedEvent}.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.customer.service.section11.service.impl.CustomerServiceImplTransactionTest$RecordingStatementInspector")
+@ActiveProfiles("h2")
+@RecordApplicationEvents
+class CustomerServiceImplTransactionTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private CustomerRequest request;
+
+    private String mobileNumber;
+
+    @BeforeEach
+    void createCustomer() {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        mobileNumber = "tx-" + key;
+        request = CustomerRequest.builder()
+                .userName("tx-user-" + key)
+                .firstName("Tx")
+                .lastName("Test")
+                .customerAge(30)
+                .customerMobileNumber(mobileNumber)
+                .customerEmailAddress("tx-" + key + "@example.com")
+                .customerAddress("Street 1")
+                .build();
+        customerService.createCustomer(request);
+        RecordingStatementInspector.STATEMENTS.clear();
+        events.clear();
+    }
+
+    @Test
+    void updateStatusByMobileWritesOnlyStatusAndUpdatedDate() {
+        customerService.updateStatusByMobile(mobileNumber, CustomerStatus.INACTIVE);
+
+        List<String> statements = RecordingStatementInspector.STATEMENTS;
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0)).startsWithIgnoringCase("select");
+        assertThat(statements.get(1))
+                .startsWithIgnoringCase("update")
+                .contains("user_status", "updated_date")
+                .doesNotContain("first_name", "customer_email_address", "password");
+    }
+
+    @Test
+    void updateStatusByMobileToSameStatusDoesNotWrite() {
+        customerService.updateStatusByMobile(mobileNumber, CustomerStatus.ACTIVE);
+
+        assertThat(RecordingStatementInspector.STATEMENTS).hasSize(1);
+        assertThat(events.stream(CustomerChangedEvent.class)).isEmpty();
+    }
+
+    @Test
+    void updateCustomerWithoutChangesDoesNotWrite() {
+        customerService.updateCustomer(request);
+
+        assertThat(RecordingStatementInspector.STATEMENTS).hasSize(1);
+        assertThat(events.stream(CustomerChangedEvent.class)).isEmpty();
+    }
+
+    @Test
+    void deleteCustomerCostsOneSelectAndOneUpdate() {
+        customerService.deleteCustomer(mobileNumber);
+
+        assertThat(RecordingStatementInspector.STATEMENTS).hasSize(2);
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
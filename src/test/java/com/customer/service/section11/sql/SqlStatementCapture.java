@@ -0,0 +1,33 @@
+package com.customer.service.section11.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures the SELECT statements executed while an action runs on the current thread, as recorded by
+ * {@link SqlCountingDataSource}, so tests can inspect the SQL the application really sends.
+ * <pre>
+ * List&lt;String&gt; selects = SqlStatementCapture.selectsOf(() -&gt; customerRepository.findByFirstName("Jane"));
+ * </pre>
+ */
+public final class SqlStatementCapture {
+
+    private SqlStatementCapture() {
+    }
+
+    /**
+     * Runs the action and returns the distinct SELECT statements it prepared, with their {@code ?} placeholders.
+     *
+     * @param action the work to capture, run on the calling thread
+     * @return the distinct SELECT statements
+     */
+    public static List<String> selectsOf(Runnable action) {
+        RequestSqlStats stats = RequestSqlStats.start("capture", Integer.MAX_VALUE, false);
+        try {
+            action.run();
+        } finally {
+            RequestSqlStats.clear();
+        }
+        return new ArrayList<>(stats.repeatedSelects(1).keySet());
+    }
+}
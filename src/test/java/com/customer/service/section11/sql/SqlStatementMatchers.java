@@ -0,0 +1,31 @@
+package com.customer.service.section11.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers on the SQL statements a request ran, as recorded by {@link SqlBudgetInterceptor}.
+ * <pre>
+ * mockMvc.perform(post("/api/customer/v1/create")...).andExpect(sqlStatements(2));
+ * </pre>
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    /**
+     * Asserts the exact number of SQL statements the request ran.
+     *
+     * @param expected the expected statement count
+     * @return the matcher
+     */
+    public static ResultMatcher sqlStatements(int expected) {
+        return result -> {
+            RequestSqlStats stats = (RequestSqlStats) result.getRequest().getAttribute(RequestSqlStats.ATTRIBUTE);
+            assertThat(stats).as("SQL statistics of %s", result.getRequest().getRequestURI()).isNotNull();
+            assertThat(stats.getStatements()).as("SQL statements run by %s", stats.getEndpoint()).isEqualTo(expected);
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package com.customer.service.section11.writebehind;
+
+import com.customer.service.section11.entity.CustomerModel;
+import com.customer.service.section11.enums.CustomerStatus;
+import com.customer.service.section11.exceptions.CustomerNotExistsException;
+import com.customer.service.section11.exceptions.StatusQueueFullException;
+import com.customer.service.section11.repository.CustomerRepository;
+import com.customer.service.section11.request.CustomerRequest;
+import com.customer.service.section11.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives the write-behind status queue by hand (the periodic flush is effectively disabled) to check
+ * coalescing, backpressure and acknowledgements.
+ */
+@SpringBootTest(properties = {
+        "customer.status-queue.capacity=3",
+        "customer.status-queue.flush-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class StatusWriteBehindQueueTest {
+
+    @Autowired
+    private StatusWriteBehindQueue queue;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String mobileNumber;
+
+    @BeforeEach
+    void createCustomer() {
+        queue.flush();
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        mobileNumber = "m-" + key;
+        customerService.createCustomer(CustomerRequest.builder()
+                .userName("u-" + key)
+                .firstName("First-" + key)
+                .lastName("Last-" + key)
+                .customerAge(30)
+                .customerMobileNumber(mobileNumber)
+                .customerEmailAddress(key + "@example.com")
+                .customerAddress("Street 1")
+                .build());
+    }
+
+    @Test
+    void burstForOneCustomerIsWrittenOnce() {
+        List<CompletableFuture<Void>> acknowledgements = List.of(
+                queue.submit(mobileNumber, CustomerStatus.INACTIVE),
+                queue.submit(mobileNumber, CustomerStatus.ACTIVE),
+                queue.submit(mobileNumber, CustomerStatus.INACTIVE));
+        assertThat(queue.size()).isEqualTo(1);
+
+        queue.flush();
+
+        assertThat(acknowledgements).allMatch(acknowledgement -> acknowledgement.isDone()
+                && !acknowledgement.isCompletedExceptionally());
+        CustomerModel model = customerRepository.findByCustomerMobileNumber(mobileNumber).orElseThrow();
+        assertThat(model.getUserStatus()).isEqualTo(CustomerStatus.INACTIVE);
+        assertThat(model.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueRejectsNewCustomersButStillCoalesces() {
+        CompletableFuture<Void> unknown = queue.submit("unknown-" + mobileNumber, CustomerStatus.INACTIVE);
+        queue.submit(mobileNumber + "-1", CustomerStatus.INACTIVE);
+        queue.submit(mobileNumber, CustomerStatus.INACTIVE);
+
+        assertThatThrownBy(() -> queue.submit(mobileNumber + "-2", CustomerStatus.INACTIVE))
+                .isInstanceOf(StatusQueueFullException.class);
+        queue.submit(mobileNumber, CustomerStatus.ACTIVE);
+
+        queue.flush();
+        assertThat(unknown).isCompletedExceptionally();
+        assertThatThrownBy(unknown::join).hasCauseInstanceOf(CustomerNotExistsException.class);
+        assertThat(customerRepository.findByCustomerMobileNumber(mobileNumber).orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    void durableRequestIsAnsweredOnceTheChangeIsCommitted() throws Exception {
+        mockMvc.perform(patch("/api/customer/v1/status/" + mobileNumber + "/INACTIVE/queued"))
+                .andExpect(request().asyncStarted())
+                .andDo(result -> mockMvc.perform(asyncDispatch(result)).andExpect(status().isAccepted()));
+
+        MvcResult durable = mockMvc.perform(patch("/api/customer/v1/status/" + mobileNumber + "/ACTIVE/queued")
+                        .param("durable", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(queue.size()).isEqualTo(1);
+
+        queue.flush();
+
+        mockMvc.perform(asyncDispatch(durable)).andExpect(status().isOk());
+        assertThat(customerRepository.findByCustomerMobileNumber(mobileNumber).orElseThrow().getVersion()).isZero();
+    }
+}